@@ -0,0 +1,245 @@
+package com.daniyal.bookstore.repository;
+
+import com.daniyal.bookstore.entity.Author;
+import com.daniyal.bookstore.entity.Book;
+import com.daniyal.bookstore.entity.Order;
+import com.daniyal.bookstore.entity.OrderItem;
+import com.daniyal.bookstore.entity.User;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/*
+ In-memory H2 for FetchStrategyBenchmark: schema from the real entities (same naming strategies as Spring Boot),
+ a Hikari pool, and a seeded catalogue / order history.
+ - Seeded with plain JDBC batches, ids are explicit and deterministic so runs are comparable.
+ - Every statement executed and every row read through the pool is counted (JDK proxies on the connection,
+   statements and result sets), which is how the benchmark reports statements / rows per operation.
+*/
+final class FetchBenchmarkDatabase implements AutoCloseable {
+
+    static final int USERS = 1_000;
+    static final int AUTHORS = 500;
+    static final int BOOKS = 2_000;
+    static final int AUTHORS_PER_BOOK = 2;
+    // 20 orders per user, 1 to 5 lines per order (3 on average)
+    static final int ORDERS = 20_000;
+    static final int MAX_LINES_PER_ORDER = 5;
+
+    private static final LocalDateTime FIRST_ORDER_AT = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final HikariDataSource pool;
+    private final SessionFactory sessionFactory;
+    private long statements;
+    private long rows;
+
+    FetchBenchmarkDatabase(int batchFetchSize, boolean subselectFetch) throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:fetch-benchmark-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setDataSource(counting(h2));
+        hikariConfig.setPoolName("fetch-benchmark");
+        hikariConfig.setMaximumPoolSize(2);
+        this.pool = new HikariDataSource(hikariConfig);
+
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Author.class)
+                .addAnnotatedClass(Book.class)
+                .addAnnotatedClass(Order.class)
+                .addAnnotatedClass(OrderItem.class);
+        configuration.setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy());
+        configuration.setImplicitNamingStrategy(new SpringImplicitNamingStrategy());
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, pool);
+        configuration.setProperty(AvailableSettings.HBM2DDL_AUTO, "create");
+        configuration.setProperty(AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, String.valueOf(batchFetchSize));
+        configuration.setProperty(AvailableSettings.USE_SUBSELECT_FETCH, String.valueOf(subselectFetch));
+        this.sessionFactory = configuration.buildSessionFactory();
+
+        seed(h2);
+    }
+
+    SessionFactory sessionFactory() {
+        return sessionFactory;
+    }
+
+    long statements() {
+        return statements;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        sessionFactory.close();
+        pool.close();
+    }
+
+    // straight to H2, so seeding does not show up in the counters
+    private static void seed(DataSource h2) throws SQLException {
+        try (Connection connection = h2.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement users = connection.prepareStatement(
+                    "insert into users (id, username, password, email, roles_mask, disabled) values (?, ?, ?, ?, 0, false)")) {
+                for (int i = 1; i <= USERS; i++) {
+                    users.setLong(1, i);
+                    users.setString(2, "user" + i);
+                    users.setString(3, "{noop}password");
+                    users.setString(4, "user" + i + "@bookstore.test");
+                    users.addBatch();
+                }
+                users.executeBatch();
+            }
+            try (PreparedStatement authors = connection.prepareStatement("insert into authors (id, name) values (?, ?)")) {
+                for (int i = 1; i <= AUTHORS; i++) {
+                    authors.setLong(1, i);
+                    authors.setString(2, "Author " + i);
+                    authors.addBatch();
+                }
+                authors.executeBatch();
+            }
+            try (PreparedStatement books = connection.prepareStatement(
+                    "insert into books (id, title, genre, isbn, description, price, quantity, image_url) "
+                            + "values (?, ?, ?, ?, ?, ?, 1000, ?)");
+                 PreparedStatement bookAuthors = connection.prepareStatement(
+                         "insert into book_author (book_id, author_id) values (?, ?)")) {
+                for (int i = 1; i <= BOOKS; i++) {
+                    books.setLong(1, i);
+                    books.setString(2, "Book " + i);
+                    books.setString(3, "Genre " + (i % 20));
+                    books.setString(4, "isbn-" + i);
+                    books.setString(5, "Description of book " + i);
+                    books.setBigDecimal(6, price(i));
+                    books.setString(7, "http://images/" + i + ".jpg");
+                    books.addBatch();
+                    for (int a = 0; a < AUTHORS_PER_BOOK; a++) {
+                        bookAuthors.setLong(1, i);
+                        bookAuthors.setLong(2, (i + a * 97L) % AUTHORS + 1);
+                        bookAuthors.addBatch();
+                    }
+                }
+                books.executeBatch();
+                bookAuthors.executeBatch();
+            }
+            try (PreparedStatement orders = connection.prepareStatement(
+                    "insert into orders (id, user_id, order_status, payment_status, total_amount, created_at, updated_at) "
+                            + "values (?, ?, 'DELIVERED', 'PAID', ?, ?, ?)");
+                 PreparedStatement items = connection.prepareStatement(
+                         "insert into order_items (id, book_id, order_id, quantity, sub_total) values (?, ?, ?, ?, ?)")) {
+                long itemId = 1;
+                for (int i = 1; i <= ORDERS; i++) {
+                    BigDecimal total = BigDecimal.ZERO;
+                    int lines = 1 + i % MAX_LINES_PER_ORDER;
+                    for (int line = 0; line < lines; line++) {
+                        int bookId = (int) ((i * 7919L + line * 31L) % BOOKS) + 1;
+                        int quantity = 1 + line % 3;
+                        BigDecimal subTotal = price(bookId).multiply(BigDecimal.valueOf(quantity));
+                        total = total.add(subTotal);
+                        items.setLong(1, itemId++);
+                        items.setLong(2, bookId);
+                        items.setLong(3, i);
+                        items.setInt(4, quantity);
+                        items.setBigDecimal(5, subTotal);
+                        items.addBatch();
+                    }
+                    Timestamp createdAt = Timestamp.valueOf(FIRST_ORDER_AT.plusMinutes(i));
+                    orders.setLong(1, i);
+                    orders.setLong(2, i % USERS + 1);
+                    orders.setBigDecimal(3, total);
+                    orders.setTimestamp(4, createdAt);
+                    orders.setTimestamp(5, createdAt);
+                    orders.addBatch();
+                    if (i % 1_000 == 0) {
+                        orders.executeBatch();
+                        items.executeBatch();
+                    }
+                }
+                orders.executeBatch();
+                items.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+
+    private static BigDecimal price(int bookId) {
+        return BigDecimal.valueOf(500 + bookId % 3_000, 2);
+    }
+
+    private DataSource counting(DataSource target) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection connection
+                            ? wrap(Connection.class, connection, this::countStatements)
+                            : result;
+                });
+    }
+
+    private Object countStatements(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        return result instanceof PreparedStatement statement
+                ? wrap(PreparedStatement.class, statement, this::countRows)
+                : result;
+    }
+
+    private Object countRows(Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().startsWith("execute")) {
+            statements++;
+        }
+        Object result = invoke(target, method, args);
+        if (result instanceof ResultSet resultSet) {
+            return wrap(ResultSet.class, resultSet, (rs, next, nextArgs) -> {
+                Object hasRow = invoke(rs, next, nextArgs);
+                if (next.getName().equals("next") && Boolean.TRUE.equals(hasRow)) {
+                    rows++;
+                }
+                return hasRow;
+            });
+        }
+        return result;
+    }
+
+    private interface Interceptor {
+        Object intercept(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private <T> T wrap(Class<T> type, T target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            // Hikari unwraps to check for driver-specific interfaces, keep it on the real object
+            if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                return invoke(target, method, args);
+            }
+            return interceptor.intercept(target, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
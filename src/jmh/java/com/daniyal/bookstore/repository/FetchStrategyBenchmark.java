@@ -0,0 +1,250 @@
+package com.daniyal.bookstore.repository;
+
+import com.daniyal.bookstore.entity.Author;
+import com.daniyal.bookstore.entity.Book;
+import com.daniyal.bookstore.entity.Order;
+import com.daniyal.bookstore.entity.OrderItem;
+import com.daniyal.bookstore.enums.OrderStatus;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.graph.RootGraph;
+import org.hibernate.query.Query;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ The read paths of OrderService / BookService under each way of loading the order -> items -> book
+ and book -> authors graphs, on a seeded H2 (FetchBenchmarkDatabase: 20k orders, ~60k lines, 2k books).
+ - getOrderById: one order, listOrdersForUser: the 20 orders of a user, listAllOrdersPage: newest 20
+   orders + count, listBooksPage: first 20 books by id + count (the admin / catalogue listings).
+ - Every strategy ends in the same plain records (OrderView / BookView), so lazy loading is triggered the
+   way the DTO mapping would trigger it and the results are comparable.
+ - LAZY is the baseline with no fetch tuning at all (N+1). BATCH is default_batch_fetch_size=100 as in
+   application.yml, SUBSELECT is hibernate.use_subselect_fetch. JOIN_FETCH and ENTITY_GRAPH on the pages
+   combine a collection fetch with a limit, which Hibernate applies in memory over the whole result
+   (HHH90003004), the same as OrderRepository.findAll(Pageable) does today.
+ - Queries go through createQuery + JPA hints like Spring Data. Hibernate's createSelectionQuery with a
+   fetch graph and a limit puts the limit on the joined rows in SQL, which cuts orders short.
+ - Statements and rows read per operation are printed at the end of each trial.
+ Run with: gradle jmh -Pjmh.includes=FetchStrategyBenchmark
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FetchStrategyBenchmark {
+
+    public enum Strategy {
+        LAZY, JOIN_FETCH, ENTITY_GRAPH, BATCH, SUBSELECT, DTO_PROJECTION
+    }
+
+    private static final int PAGE_SIZE = 20;
+    private static final String FETCH_GRAPH = "jakarta.persistence.fetchgraph";
+
+    @Param
+    private Strategy strategy;
+
+    private FetchBenchmarkDatabase database;
+    private SessionFactory sessionFactory;
+    private long nextOrderId;
+    private long nextUserId;
+    private long operations;
+    private long statementsAtStart;
+    private long rowsAtStart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = new FetchBenchmarkDatabase(
+                strategy == Strategy.BATCH ? 100 : 0,
+                strategy == Strategy.SUBSELECT);
+        sessionFactory = database.sessionFactory();
+
+        statementsAtStart = database.statements();
+        rowsAtStart = database.rows();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%s: %.1f statements/op, %.1f rows/op%n", strategy,
+                (double) (database.statements() - statementsAtStart) / operations,
+                (double) (database.rows() - rowsAtStart) / operations);
+        database.close();
+    }
+
+    @Benchmark
+    public List<OrderView> getOrderById() {
+        long orderId = nextOrderId++ % FetchBenchmarkDatabase.ORDERS + 1;
+        operations++;
+        return sessionFactory.fromTransaction(session -> switch (strategy) {
+            case JOIN_FETCH -> toOrderViews(session.createQuery(
+                            "SELECT o FROM Order o JOIN FETCH o.orderItems oi JOIN FETCH oi.book WHERE o.id = :orderId",
+                            Order.class)
+                    .setParameter("orderId", orderId)
+                    .getResultList());
+            case ENTITY_GRAPH -> toOrderViews(List.of(session.find(Order.class, orderId, Map.of(FETCH_GRAPH, orderGraph(session)))));
+            case LAZY, BATCH, SUBSELECT -> toOrderViews(List.of(session.find(Order.class, orderId)));
+            case DTO_PROJECTION -> toOrderViews(orderLines(session, "o.id = :orderId", "orderId", orderId));
+        });
+    }
+
+    @Benchmark
+    public List<OrderView> listOrdersForUser() {
+        long userId = nextUserId++ % FetchBenchmarkDatabase.USERS + 1;
+        operations++;
+        return sessionFactory.fromTransaction(session -> switch (strategy) {
+            case JOIN_FETCH -> toOrderViews(session.createQuery(
+                            "SELECT DISTINCT o FROM Order o JOIN FETCH o.orderItems oi JOIN FETCH oi.book "
+                                    + "WHERE o.user.id = :userId ORDER BY o.createdAt DESC", Order.class)
+                    .setParameter("userId", userId)
+                    .getResultList());
+            case ENTITY_GRAPH, LAZY, BATCH, SUBSELECT -> toOrderViews(withOrderGraph(session, session.createQuery(
+                            "SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC", Order.class))
+                    .setParameter("userId", userId)
+                    .getResultList());
+            case DTO_PROJECTION -> toOrderViews(orderLines(session, "o.user.id = :userId", "userId", userId));
+        });
+    }
+
+    @Benchmark
+    public List<OrderView> listAllOrdersPage() {
+        operations++;
+        return sessionFactory.fromTransaction(session -> {
+            session.createQuery("SELECT COUNT(o) FROM Order o", Long.class).getSingleResult();
+            return switch (strategy) {
+                case JOIN_FETCH -> toOrderViews(session.createQuery(
+                                "SELECT DISTINCT o FROM Order o JOIN FETCH o.orderItems oi JOIN FETCH oi.book "
+                                        + "ORDER BY o.createdAt DESC", Order.class)
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList());
+                case ENTITY_GRAPH, LAZY, BATCH, SUBSELECT -> toOrderViews(withOrderGraph(session, session.createQuery(
+                                "SELECT o FROM Order o ORDER BY o.createdAt DESC", Order.class))
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList());
+                // page the ids, then one query for the lines of that page
+                case DTO_PROJECTION -> toOrderViews(orderLines(session, "o.id IN :orderIds", "orderIds",
+                        session.createQuery("SELECT o.id FROM Order o ORDER BY o.createdAt DESC", Long.class)
+                                .setMaxResults(PAGE_SIZE)
+                                .getResultList()));
+            };
+        });
+    }
+
+    @Benchmark
+    public List<BookView> listBooksPage() {
+        operations++;
+        return sessionFactory.fromTransaction(session -> {
+            session.createQuery("SELECT COUNT(b) FROM Book b", Long.class).getSingleResult();
+            return switch (strategy) {
+                case JOIN_FETCH -> toBookViews(session.createQuery(
+                                "SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.authors ORDER BY b.id", Book.class)
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList());
+                case ENTITY_GRAPH -> toBookViews(session.createQuery("SELECT b FROM Book b ORDER BY b.id", Book.class)
+                        .setHint(FETCH_GRAPH, bookGraph(session))
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList());
+                case LAZY, BATCH, SUBSELECT -> toBookViews(session.createQuery(
+                                "SELECT b FROM Book b ORDER BY b.id", Book.class)
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList());
+                case DTO_PROJECTION -> bookPage(session);
+            };
+        });
+    }
+
+    private <T> Query<T> withOrderGraph(Session session, Query<T> query) {
+        return strategy == Strategy.ENTITY_GRAPH ? query.setHint(FETCH_GRAPH, orderGraph(session)) : query;
+    }
+
+    // built per call, as Spring Data does for @EntityGraph(attributePaths = ...)
+    private static RootGraph<Order> orderGraph(Session session) {
+        RootGraph<Order> graph = session.createEntityGraph(Order.class);
+        graph.addSubgraph("orderItems").addAttributeNodes("book");
+        return graph;
+    }
+
+    private static RootGraph<Book> bookGraph(Session session) {
+        RootGraph<Book> graph = session.createEntityGraph(Book.class);
+        graph.addAttributeNodes("authors");
+        return graph;
+    }
+
+    private static List<OrderView> toOrderViews(List<Order> orders) {
+        List<OrderView> views = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            List<LineView> lines = new ArrayList<>(order.getOrderItems().size());
+            for (OrderItem item : order.getOrderItems()) {
+                Book book = item.getBook();
+                lines.add(new LineView(book.getId(), book.getTitle(), book.getPrice(), item.getQuantity(), item.getSubTotal()));
+            }
+            views.add(new OrderView(order.getId(), order.getOrderStatus(), order.getTotalAmount(), order.getCreatedAt(), lines));
+        }
+        return views;
+    }
+
+    private static List<BookView> toBookViews(List<Book> books) {
+        List<BookView> views = new ArrayList<>(books.size());
+        for (Book book : books) {
+            List<String> authors = new ArrayList<>(book.getAuthors().size());
+            for (Author author : book.getAuthors()) {
+                authors.add(author.getName());
+            }
+            views.add(new BookView(book.getId(), book.getTitle(), book.getPrice(), authors));
+        }
+        return views;
+    }
+
+    // one row per order line, grouped back into orders in query order
+    private static Map<Long, OrderView> orderLines(Session session, String where, String name, Object value) {
+        Query<Object[]> query = session.createQuery(
+                "SELECT o.id, o.orderStatus, o.totalAmount, o.createdAt, b.id, b.title, b.price, oi.quantity, oi.subTotal "
+                        + "FROM OrderItem oi JOIN oi.order o JOIN oi.book b "
+                        + "WHERE " + where + " ORDER BY o.createdAt DESC, oi.id", Object[].class);
+        List<Object[]> rows = (value instanceof Collection<?> values
+                ? query.setParameterList(name, values)
+                : query.setParameter(name, value))
+                .getResultList();
+        Map<Long, OrderView> orders = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            orders.computeIfAbsent((Long) row[0], id -> new OrderView(id, (OrderStatus) row[1], (BigDecimal) row[2],
+                            (LocalDateTime) row[3], new ArrayList<>()))
+                    .lines().add(new LineView((Long) row[4], (String) row[5], (BigDecimal) row[6], (Integer) row[7],
+                            (BigDecimal) row[8]));
+        }
+        return orders;
+    }
+
+    private static List<OrderView> toOrderViews(Map<Long, OrderView> orders) {
+        return new ArrayList<>(orders.values());
+    }
+
+    private static List<BookView> bookPage(Session session) {
+        List<Object[]> rows = session.createQuery("SELECT b.id, b.title, b.price FROM Book b ORDER BY b.id", Object[].class)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        Map<Long, BookView> books = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            books.put((Long) row[0], new BookView((Long) row[0], (String) row[1], (BigDecimal) row[2], new ArrayList<>()));
+        }
+        for (Object[] row : session.createQuery(
+                        "SELECT b.id, a.name FROM Book b JOIN b.authors a WHERE b.id IN :bookIds", Object[].class)
+                .setParameterList("bookIds", books.keySet())
+                .getResultList()) {
+            books.get((Long) row[0]).authors().add((String) row[1]);
+        }
+        return new ArrayList<>(books.values());
+    }
+
+    public record OrderView(Long id, OrderStatus status, BigDecimal totalAmount, LocalDateTime createdAt, List<LineView> lines) {}
+
+    public record LineView(Long bookId, String title, BigDecimal price, int quantity, BigDecimal subTotal) {}
+
+    public record BookView(Long id, String title, BigDecimal price, List<String> authors) {}
+}
@@ -0,0 +1,100 @@
+package com.daniyal.bookstore.security;
+
+import com.daniyal.bookstore.security.handlers.SecurityRejectionWriter;
+import com.daniyal.bookstore.service.TokenRevocationService;
+import com.daniyal.bookstore.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+ Per-request cost of JwtAuthFilter on a public route vs a protected one, same bearer header on both.
+ - publicRoute: login with a token attached, the filter only matches the path and steps aside.
+ - protectedRoute: the full path, claims (cached after the first parse, see JwtUtil) + revocation
+   check + building the authentication.
+ - protectedRouteNoToken: the floor for a protected route, nothing to parse.
+ Run with: gradle jmh -Pjmh.includes=JwtAuthFilterBenchmark
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "YmVuY2htYXJrLXNlY3JldC1iZW5jaG1hcmstc2VjcmV0LWJlbmNobWFyaw==";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 10_000);
+        authorization = "Bearer " + jwtUtil.generateToken(1L, "bench@x.com", Set.of("CUSTOMER"));
+        filter = newFilter(jwtUtil);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse publicRoute() throws Exception {
+        return run("POST", "/api/users/login", authorization);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse protectedRoute() throws Exception {
+        return run("GET", "/api/orders/my", authorization);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse protectedRouteNoToken() throws Exception {
+        return run("GET", "/api/orders/my", null);
+    }
+
+    private MockHttpServletResponse run(String method, String uri, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    private static JwtAuthFilter newFilter(JwtUtil jwtUtil) throws Exception {
+        JwtAuthFilter filter = new JwtAuthFilter(null);
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", new NeverRevoked());
+        ReflectionTestUtils.setField(filter, "securityRejectionWriter", new SecurityRejectionWriter(new ObjectMapper()));
+        return filter;
+    }
+
+    private static final class NeverRevoked implements TokenRevocationService {
+        @Override
+        public void revokeToken(String tokenId, String subject, Date expiresAt) {
+        }
+
+        @Override
+        public void revokeAllTokensOfUser(String email) {
+        }
+
+        @Override
+        public boolean isRevoked(Claims claims) {
+            return false;
+        }
+
+        @Override
+        public void refresh() {
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.BookResponseDTO;
+import com.daniyal.bookstore.dto.OrderItemRequestDTO;
+import com.daniyal.bookstore.dto.OrderResponseDTO;
+import com.daniyal.bookstore.entity.Author;
+import com.daniyal.bookstore.entity.Book;
+import com.daniyal.bookstore.entity.Order;
+import com.daniyal.bookstore.entity.OrderItem;
+import com.daniyal.bookstore.enums.OrderStatus;
+import com.daniyal.bookstore.enums.PaymentStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+ Entity -> DTO mapping and the order line aggregation of placeOrder, on plain objects (no JPA, no DB).
+ - toOrderResponseDTO includes the two ISO_LOCAL_DATE_TIME formats of createdAt / updatedAt.
+ - combineOrderItems gets `lines` request lines over lines / 2 distinct books, so every book is merged once.
+ Run with: gradle jmh -Pjmh.includes=MappingBenchmark
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int lines;
+
+    private BookServiceImpl bookService;
+    private OrderServiceImpl orderService;
+    private Book book;
+    private Order order;
+    private List<OrderItemRequestDTO> requestLines;
+
+    @Setup
+    public void setUp() {
+        bookService = new BookServiceImpl();
+        orderService = new OrderServiceImpl(null, null, null, null, null, null, null);
+
+        Set<Author> authors = Set.of(
+                Author.builder().id(1L).name("First Author").build(),
+                Author.builder().id(2L).name("Second Author").build());
+        book = Book.builder()
+                .id(42L)
+                .title("The Benchmark")
+                .authors(authors)
+                .genre("Fiction")
+                .isbn("978-0000000000")
+                .description("A book used to measure mapping")
+                .price(new BigDecimal("19.99"))
+                .quantity(100)
+                .imageUrl("http://images/42.jpg")
+                .build();
+
+        List<OrderItem> items = new ArrayList<>();
+        requestLines = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            Book lineBook = Book.builder().id((long) i).title("Book " + i).price(new BigDecimal("10.00")).build();
+            items.add(OrderItem.builder()
+                    .id((long) i)
+                    .book(lineBook)
+                    .quantity(2)
+                    .subTotal(new BigDecimal("20.00"))
+                    .build());
+            requestLines.add(OrderItemRequestDTO.builder().bookId((long) (i / 2)).quantity(1).build());
+        }
+        order = Order.builder()
+                .id(7L)
+                .orderItems(items)
+                .orderStatus(OrderStatus.PENDING)
+                .paymentStatus(PaymentStatus.UNPAID)
+                .totalAmount(new BigDecimal("20.00").multiply(BigDecimal.valueOf(lines)))
+                .createdAt(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_000_000))
+                .updatedAt(LocalDateTime.of(2025, 3, 14, 15, 10, 2, 0))
+                .build();
+    }
+
+    @Benchmark
+    public BookResponseDTO toBookResponseDTO() {
+        return bookService.toBookResponseDTO(book);
+    }
+
+    @Benchmark
+    public OrderResponseDTO toOrderResponseDTO() {
+        return orderService.toOrderResponseDTO(order);
+    }
+
+    @Benchmark
+    public Map<Long, Integer> combineOrderItems() {
+        return OrderServiceImpl.combineOrderItems(requestLines);
+    }
+}
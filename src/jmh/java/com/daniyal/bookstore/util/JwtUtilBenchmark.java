@@ -0,0 +1,60 @@
+package com.daniyal.bookstore.util;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+ Token issue and verification costs.
+ - extractAllClaimsCached: the common request path, a SHA-256 digest plus a map lookup.
+ - extractAllClaimsVerified: a full parse + HMAC check. Two tokens alternate on a one-entry cache,
+   so every call misses (see JwtUtil.makeRoom).
+ Run with: gradle jmh -Pjmh.includes=JwtUtilBenchmark
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "YmVuY2htYXJrLXNlY3JldC1iZW5jaG1hcmstc2VjcmV0LWJlbmNobWFyaw==";
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil missingJwtUtil;
+    private String token;
+    private String[] alternatingTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = new JwtUtil(SECRET, 10_000);
+        missingJwtUtil = new JwtUtil(SECRET, 1);
+        token = cachingJwtUtil.generateToken(1L, "bench@x.com", Set.of("CUSTOMER"));
+        alternatingTokens = new String[]{
+                token,
+                cachingJwtUtil.generateToken(2L, "other@x.com", Set.of("CUSTOMER", "ADMIN"))
+        };
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtil.generateToken(1L, "bench@x.com", Set.of("CUSTOMER"));
+    }
+
+    @Benchmark
+    public Claims extractAllClaimsCached() {
+        return cachingJwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims extractAllClaimsVerified() {
+        next ^= 1;
+        return missingJwtUtil.extractAllClaims(alternatingTokens[next]);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return cachingJwtUtil.validateToken(token, "bench@x.com");
+    }
+}
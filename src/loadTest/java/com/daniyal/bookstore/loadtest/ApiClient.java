@@ -0,0 +1,99 @@
+package com.daniyal.bookstore.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ Thin HTTP client over the booted application, every call is timed into the recorder of its endpoint.
+ Latency runs from the intended start (open loop: the scheduled arrival time), so a stalled server
+ shows up in the percentiles instead of silently delaying the next request (coordinated omission).
+*/
+class ApiClient {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+    ApiClient(String baseUrl, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+    }
+
+    Response get(String endpoint, String path, String token, long intendedStartNanos) {
+        return send(endpoint, request(path, token).GET().build(), intendedStartNanos);
+    }
+
+    Response post(String endpoint, String path, String token, Object body, long intendedStartNanos) {
+        HttpRequest.BodyPublisher publisher;
+        try {
+            publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return send(endpoint, request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(publisher)
+                .build(), intendedStartNanos);
+    }
+
+    void resetStats() {
+        recorders.clear();
+    }
+
+    Map<String, LatencyRecorder.Summary> summaries() {
+        Map<String, LatencyRecorder.Summary> summaries = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> summaries.put(endpoint, recorder.summarize()));
+        return summaries;
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(String endpoint, HttpRequest request, long intendedStartNanos) {
+        LatencyRecorder recorder = recorders.computeIfAbsent(endpoint, name -> new LatencyRecorder());
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            recorder.record(System.nanoTime() - intendedStartNanos, response.statusCode());
+            JsonNode body = response.body().length == 0
+                    ? MissingNode.getInstance()
+                    : objectMapper.readTree(response.body());
+            return new Response(response.statusCode(), body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recorder.recordError(System.nanoTime() - intendedStartNanos);
+            return new Response(0, MissingNode.getInstance());
+        } catch (IOException e) {
+            recorder.recordError(System.nanoTime() - intendedStartNanos);
+            return new Response(0, MissingNode.getInstance());
+        }
+    }
+
+    record Response(int status, JsonNode body) {
+        boolean isSuccess() {
+            return status >= 200 && status < 400;
+        }
+    }
+}
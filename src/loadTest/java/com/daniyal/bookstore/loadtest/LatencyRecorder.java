@@ -0,0 +1,53 @@
+package com.daniyal.bookstore.loadtest;
+
+import java.util.Arrays;
+
+/*
+ Latencies of one endpoint, kept raw (a run is at most a few hundred thousand samples) so the
+ percentiles are exact. Synchronized: recording is a few nanoseconds next to an HTTP round trip.
+*/
+class LatencyRecorder {
+
+    private long[] samplesNanos = new long[1024];
+    private int size;
+    private long errors;
+    private long clientErrors;
+    private long serverErrors;
+
+    synchronized void record(long latencyNanos, int status) {
+        if (size == samplesNanos.length) {
+            samplesNanos = Arrays.copyOf(samplesNanos, size * 2);
+        }
+        samplesNanos[size++] = latencyNanos;
+        if (status >= 500) {
+            serverErrors++;
+        } else if (status >= 400) {
+            clientErrors++;
+        }
+    }
+
+    // no HTTP status at all: connection refused, timeout, ...
+    synchronized void recordError(long latencyNanos) {
+        record(latencyNanos, 0);
+        errors++;
+    }
+
+    synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(samplesNanos, size);
+        Arrays.sort(sorted);
+        return new Summary(size, clientErrors, serverErrors, errors,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                size == 0 ? 0 : sorted[size - 1]);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    record Summary(long count, long clientErrors, long serverErrors, long errors,
+                   long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {}
+}
@@ -0,0 +1,229 @@
+package com.daniyal.bookstore.loadtest;
+
+import com.daniyal.bookstore.BookstoreApplication;
+import com.daniyal.bookstore.entity.Author;
+import com.daniyal.bookstore.entity.Book;
+import com.daniyal.bookstore.entity.User;
+import com.daniyal.bookstore.repository.AuthorRepository;
+import com.daniyal.bookstore.repository.BookRepository;
+import com.daniyal.bookstore.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ Checkout load test against the real application booted on H2 (MySQL mode), nothing to install.
+
+   gradle loadTest -Ploadtest.mode=open -Ploadtest.rate=200 -Ploadtest.duration-seconds=60
+
+ Settings (-P project properties, passed on as system properties, defaults in brackets):
+   loadtest.mode              closed | open [closed]
+   loadtest.users             closed loop: concurrent virtual users [20]
+   loadtest.think-time-ms     closed loop: pause between two operations of a user [0]
+   loadtest.rate              open loop: operations started per second, whatever the latency [100]
+   loadtest.warmup-seconds    run before measuring, stats are dropped [5]
+   loadtest.duration-seconds  measured window [30]
+   loadtest.books             catalog size [500]
+   loadtest.stock             initial quantity of every book, low values force stock contention [50]
+   loadtest.customers         customers created up front [50]
+   loadtest.mix               operation weights [browse:30,search:20,order:25,pay:12,cancel:8,login:3,register:2]
+ Rate limiting is off and BCrypt runs at the configured strength. The run fails (exit code 1)
+ when stock went negative or does not add up with the orders that were not cancelled.
+*/
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        String mode = setting("mode", "closed");
+        int users = Integer.parseInt(setting("users", "20"));
+        long thinkTimeMs = Long.parseLong(setting("think-time-ms", "0"));
+        double rate = Double.parseDouble(setting("rate", "100"));
+        int warmupSeconds = Integer.parseInt(setting("warmup-seconds", "5"));
+        int durationSeconds = Integer.parseInt(setting("duration-seconds", "30"));
+        int bookCount = Integer.parseInt(setting("books", "500"));
+        int stock = Integer.parseInt(setting("stock", "50"));
+        int customerCount = Integer.parseInt(setting("customers", "50"));
+        Map<Workload.Operation, Integer> mix = parseMix(
+                setting("mix", "browse:30,search:20,order:25,pay:12,cancel:8,login:3,register:2"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BookstoreApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=" + setting("pool-size", "10"),
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--jwt.secret=" + Base64.getEncoder().encodeToString(UUID.randomUUID().toString().repeat(2).getBytes()),
+                        "--rate-limit.enabled=false",
+                        "--logging.level.root=WARN");
+        boolean consistent;
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            ApiClient client = new ApiClient(baseUrl, Duration.ofSeconds(30));
+
+            List<Long> bookIds = seedCatalog(context, bookCount, stock);
+            String adminToken = seedUsers(context, client, customerCount);
+            Workload workload = new Workload(client, adminToken, bookIds, mix);
+            for (int i = 0; i < customerCount; i++) {
+                workload.addCustomer("customer-" + i + "@load.test");
+            }
+            workload.loginAll();
+
+            System.out.printf("Load test: %s loop, %s, %ds warmup + %ds measured, %d books x %d copies, %d customers%n",
+                    mode, mode.equals("open") ? rate + " ops/s" : users + " users", warmupSeconds, durationSeconds,
+                    bookCount, stock, customerCount);
+            run(mode, workload, users, thinkTimeMs, rate, warmupSeconds);
+            client.resetStats();
+            long measuredNanos = run(mode, workload, users, thinkTimeMs, rate, durationSeconds);
+            report(client.summaries(), measuredNanos);
+            consistent = verifyStock(context.getBean(JdbcTemplate.class), stock);
+        } finally {
+            context.close();
+        }
+        System.exit(consistent ? 0 : 1);
+    }
+
+    private static long run(String mode, Workload workload, int users, long thinkTimeMs, double rate, int seconds)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + Duration.ofSeconds(seconds).toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (mode.equals("open")) {
+                // arrivals follow the schedule, not the responses: a slow server builds up concurrency
+                long intervalNanos = (long) (1_000_000_000L / rate);
+                for (long intended = start; intended < end; intended += intervalNanos) {
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    long intendedStart = intended;
+                    executor.execute(() -> workload.runOperation(intendedStart));
+                }
+            } else if (mode.equals("closed")) {
+                for (int i = 0; i < users; i++) {
+                    executor.execute(() -> {
+                        while (System.nanoTime() < end) {
+                            workload.runOperation(System.nanoTime());
+                            if (thinkTimeMs > 0) {
+                                LockSupport.parkNanos(Duration.ofMillis(thinkTimeMs).toNanos());
+                            }
+                        }
+                    });
+                }
+            } else {
+                throw new IllegalArgumentException("loadtest.mode must be 'closed' or 'open', got " + mode);
+            }
+        } // close() waits for the operations still in flight
+        return System.nanoTime() - start;
+    }
+
+    private static List<Long> seedCatalog(ConfigurableApplicationContext context, int bookCount, int stock) {
+        AuthorRepository authorRepository = context.getBean(AuthorRepository.class);
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, bookCount / 10); i++) {
+            authors.add(Author.builder().name("Author " + i).build());
+        }
+        authors = authorRepository.saveAll(authors);
+
+        Random random = new Random(42);
+        List<Book> books = new ArrayList<>(bookCount);
+        for (int i = 0; i < bookCount; i++) {
+            String word = Workload.TITLE_WORDS[random.nextInt(Workload.TITLE_WORDS.length)];
+            books.add(Book.builder()
+                    .title("The " + word + " " + i)
+                    .authors(new HashSet<>(List.of(authors.get(random.nextInt(authors.size())))))
+                    .genre(i % 2 == 0 ? "Fiction" : "History")
+                    .isbn("LT-" + i)
+                    .description("Load test book " + i)
+                    .price(BigDecimal.valueOf(500 + random.nextInt(4500), 2))
+                    .quantity(stock)
+                    .imageUrl("http://images/" + i + ".jpg")
+                    .build());
+        }
+        return bookRepository.saveAll(books).stream().map(Book::getId).toList();
+    }
+
+    // customers are inserted directly (one BCrypt hash for all), the workload logs them in over HTTP
+    private static String seedUsers(ConfigurableApplicationContext context, ApiClient client, int customerCount) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        String hash = context.getBean(PasswordEncoder.class).encode(Workload.PASSWORD);
+        List<User> users = new ArrayList<>();
+        users.add(User.builder().username("loadtest-admin").email("admin@load.test").password(hash)
+                .roles(Set.of("ADMIN")).build());
+        for (int i = 0; i < customerCount; i++) {
+            users.add(User.builder().username("customer-" + i).email("customer-" + i + "@load.test").password(hash)
+                    .roles(Set.of("CUSTOMER")).build());
+        }
+        userRepository.saveAll(users);
+
+        ApiClient.Response login = client.post("setup", "/api/users/login", null,
+                Map.of("email", "admin@load.test", "password", Workload.PASSWORD), System.nanoTime());
+        if (!login.isSuccess()) {
+            throw new IllegalStateException("Admin login failed with status " + login.status());
+        }
+        return login.body().path("token").asText();
+    }
+
+    private static void report(Map<String, LatencyRecorder.Summary> summaries, long measuredNanos) {
+        double seconds = measuredNanos / 1e9;
+        System.out.printf("%n%-30s %8s %8s %6s %6s %6s %9s %9s %9s %9s%n",
+                "endpoint", "count", "ops/s", "4xx", "5xx", "io", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, LatencyRecorder.Summary> entry : summaries.entrySet()) {
+            LatencyRecorder.Summary summary = entry.getValue();
+            total += summary.count();
+            System.out.printf("%-30s %8d %8.1f %6d %6d %6d %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), summary.count(), summary.count() / seconds,
+                    summary.clientErrors(), summary.serverErrors(), summary.errors(),
+                    millis(summary.p50Nanos()), millis(summary.p95Nanos()), millis(summary.p99Nanos()),
+                    millis(summary.maxNanos()));
+        }
+        System.out.printf("%-30s %8d %8.1f%n", "total", total, total / seconds);
+    }
+
+    // stock left + copies in orders that were not cancelled must be the initial stock, for every book
+    private static boolean verifyStock(JdbcTemplate jdbcTemplate, int initialStock) {
+        Integer negative = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books WHERE quantity < 0", Integer.class);
+        List<Map<String, Object>> mismatches = jdbcTemplate.queryForList("""
+                SELECT b.id, b.quantity,
+                       COALESCE(SUM(CASE WHEN o.order_status <> 'CANCELLED' THEN oi.quantity END), 0) AS sold
+                FROM books b
+                LEFT JOIN order_items oi ON oi.book_id = b.id
+                LEFT JOIN orders o ON o.id = oi.order_id
+                GROUP BY b.id, b.quantity
+                HAVING b.quantity + COALESCE(SUM(CASE WHEN o.order_status <> 'CANCELLED' THEN oi.quantity END), 0) <> ?
+                """, initialStock);
+        System.out.printf("%nStock check: %d books below zero, %d books where stock + sold != %d%n",
+                negative, mismatches.size(), initialStock);
+        mismatches.stream().limit(10).forEach(row -> System.out.printf("  book %s: stock %s, sold %s%n",
+                row.get("id"), row.get("quantity"), row.get("sold")));
+        return negative != null && negative == 0 && mismatches.isEmpty();
+    }
+
+    private static Map<Workload.Operation, Integer> parseMix(String mix) {
+        Map<Workload.Operation, Integer> weights = new EnumMap<>(Workload.Operation.class);
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            weights.put(Workload.Operation.valueOf(nameAndWeight[0].trim().toUpperCase(Locale.ROOT)),
+                    Integer.parseInt(nameAndWeight[1].trim()));
+        }
+        return weights;
+    }
+
+    private static String setting(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,153 @@
+package com.daniyal.bookstore.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ The checkout mix. Every call to runOperation picks one operation by weight and a random customer:
+ - browse / search: book listing and search (ADMIN only in this API, so they use the admin token),
+ - register / login: new accounts and fresh tokens (BCrypt on the login pool),
+ - order: 1-3 random books, 1-2 copies each, contending on the same stock rows,
+ - pay / cancel: one of the customer's earlier orders, cancel restores stock.
+ Customer state is shared between threads, orders are handed out through concurrent queues.
+*/
+class Workload {
+
+    static final String PASSWORD = "load-test-1";
+    static final String[] TITLE_WORDS = {"river", "night", "garden", "empire", "winter", "stone", "glass", "ocean"};
+
+    private final ApiClient client;
+    private final String adminToken;
+    private final List<Long> bookIds;
+    private final int bookPages;
+    private final Operation[] weightedOperations;
+    private final List<Customer> customers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger registrations = new AtomicInteger();
+
+    Workload(ApiClient client, String adminToken, List<Long> bookIds, Map<Operation, Integer> mix) {
+        this.client = client;
+        this.adminToken = adminToken;
+        this.bookIds = bookIds;
+        this.bookPages = Math.max(1, bookIds.size() / 20);
+        List<Operation> weighted = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no operation with a positive weight");
+        }
+        this.weightedOperations = weighted.toArray(new Operation[0]);
+    }
+
+    void addCustomer(String email) {
+        customers.add(new Customer(email));
+    }
+
+    // logs every customer in once, outside of the measured window
+    void loginAll() {
+        customers.forEach(customer -> login(customer, System.nanoTime()));
+    }
+
+    void runOperation(long intendedStartNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+        Customer customer = customers.get(random.nextInt(customers.size()));
+        if (customer.token == null && operation != Operation.REGISTER && operation != Operation.BROWSE
+                && operation != Operation.SEARCH) {
+            operation = Operation.LOGIN;
+        }
+        switch (operation) {
+            case BROWSE -> client.get("GET /api/books", "/api/books?page=" + random.nextInt(bookPages) + "&size=20",
+                    adminToken, intendedStartNanos);
+            case SEARCH -> client.get("GET /api/books/search",
+                    "/api/books/search?title=" + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + "&size=20",
+                    adminToken, intendedStartNanos);
+            case REGISTER -> register(intendedStartNanos);
+            case LOGIN -> login(customer, intendedStartNanos);
+            case ORDER -> placeOrder(customer, random, intendedStartNanos);
+            case PAY -> pay(customer, intendedStartNanos);
+            case CANCEL -> cancel(customer, intendedStartNanos);
+        }
+    }
+
+    private void register(long intendedStartNanos) {
+        String email = "registered-" + registrations.incrementAndGet() + "@load.test";
+        ApiClient.Response response = client.post("POST /api/users/register", "/api/users/register", null,
+                Map.of("username", email.substring(0, email.indexOf('@')), "email", email, "password", PASSWORD),
+                intendedStartNanos);
+        if (response.isSuccess()) {
+            customers.add(new Customer(email));
+        }
+    }
+
+    private void login(Customer customer, long intendedStartNanos) {
+        ApiClient.Response response = client.post("POST /api/users/login", "/api/users/login", null,
+                Map.of("email", customer.email, "password", PASSWORD), intendedStartNanos);
+        if (response.isSuccess()) {
+            customer.token = response.body().path("token").asText(null);
+        }
+    }
+
+    private void placeOrder(Customer customer, ThreadLocalRandom random, long intendedStartNanos) {
+        int lines = 1 + random.nextInt(3);
+        List<Map<String, Object>> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            items.add(Map.of("bookId", bookIds.get(random.nextInt(bookIds.size())), "quantity", 1 + random.nextInt(2)));
+        }
+        ApiClient.Response response = client.post("POST /api/orders", "/api/orders", customer.token,
+                Map.of("orderItems", items), intendedStartNanos);
+        JsonNode id = response.body().path("id");
+        if (response.isSuccess() && id.isNumber()) {
+            PlacedOrder order = new PlacedOrder(id.asLong(), response.body().path("totalAmount").decimalValue());
+            customer.unpaid.add(order);
+            customer.cancellable.add(order);
+        }
+    }
+
+    private void pay(Customer customer, long intendedStartNanos) {
+        PlacedOrder order = customer.unpaid.poll();
+        if (order == null) {
+            return;
+        }
+        client.post("POST /api/payment/pay", "/api/payment/pay", customer.token,
+                Map.of("orderId", order.id(), "amount", order.totalAmount()), intendedStartNanos);
+    }
+
+    private void cancel(Customer customer, long intendedStartNanos) {
+        PlacedOrder order = customer.cancellable.poll();
+        if (order == null) {
+            return;
+        }
+        customer.unpaid.remove(order);
+        client.post("POST /api/orders/{id}/cancel", "/api/orders/" + order.id() + "/cancel", customer.token,
+                null, intendedStartNanos);
+    }
+
+    enum Operation {
+        BROWSE, SEARCH, REGISTER, LOGIN, ORDER, PAY, CANCEL
+    }
+
+    private record PlacedOrder(long id, BigDecimal totalAmount) {}
+
+    private static final class Customer {
+        private final String email;
+        private final Queue<PlacedOrder> unpaid = new ConcurrentLinkedQueue<>();
+        private final Queue<PlacedOrder> cancellable = new ConcurrentLinkedQueue<>();
+        private volatile String token;
+
+        private Customer(String email) {
+            this.email = email;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import jakarta.servlet.ServletException;
 import org.hibernate.HibernateException;
 import org.hibernate.TypeMismatchException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -71,6 +72,39 @@ public class GlobalExceptionHandler {
                 .build(),HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleUserNotFoundException(UserNotFoundException exception)
+    {
+        return new ResponseEntity<>(ApiErrorResponse.builder()
+                .message(exception.getMessage())
+                .errorCode("USER_NOT_FOUND")
+                .errors(new HashMap<>())
+                .build(),HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ApiErrorResponse> handleLoginThrottledException(LoginThrottledException exception)
+    {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(ApiErrorResponse.builder()
+                        .message(exception.getMessage())
+                        .errorCode("LOGIN_THROTTLED")
+                        .errors(new HashMap<>())
+                        .build());
+    }
+
+    @ExceptionHandler(ImportThrottledException.class)
+    public ResponseEntity<ApiErrorResponse> handleImportThrottledException(ImportThrottledException exception)
+    {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(ApiErrorResponse.builder()
+                        .message(exception.getMessage())
+                        .errorCode("IMPORT_THROTTLED")
+                        .errors(new HashMap<>())
+                        .build());
+    }
 
     @ExceptionHandler(BookAlreadyExistsException.class)
     public ResponseEntity<ApiErrorResponse> handleBookAlreadyExistsException(BookAlreadyExistsException exception)
@@ -246,6 +280,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(RecordingNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleRecordingNotFoundException(RecordingNotFoundException ex) {
+        ApiErrorResponse error = ApiErrorResponse.builder()
+                .errorCode("RECORDING_NOT_FOUND")
+                .message(ex.getMessage())
+                .errors(Collections.emptyMap())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
     @ExceptionHandler(OrderCancellationException.class)
     public ResponseEntity<ApiErrorResponse> handleOrderCancellationException(OrderCancellationException ex) {
         ApiErrorResponse error = ApiErrorResponse.builder()
@@ -256,6 +300,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(OrderStatusTransitionException.class)
+    public ResponseEntity<ApiErrorResponse> handleOrderStatusTransitionException(OrderStatusTransitionException ex) {
+        ApiErrorResponse error = ApiErrorResponse.builder()
+                .errorCode("INVALID_ORDER_STATUS_TRANSITION")
+                .message(ex.getMessage())
+                .errors(Collections.emptyMap())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
 
 //    @ExceptionHandler(AccessDeniedException.class)
 //    public ResponseEntity<ApiErrorResponse> handleAccessDeniedException(AccessDeniedException ex) {
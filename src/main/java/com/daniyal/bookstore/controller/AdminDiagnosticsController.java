@@ -0,0 +1,103 @@
+package com.daniyal.bookstore.controller;
+
+import com.daniyal.bookstore.diagnostics.SlowRequest;
+import com.daniyal.bookstore.diagnostics.SlowRequestBuffer;
+import com.daniyal.bookstore.dto.SlowRequestResponseDTO;
+import com.daniyal.bookstore.dto.SqlStatementResponseDTO;
+import com.daniyal.bookstore.exceptions.ApiErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Admin Diagnostics", description = "Slow request capture for administrators")
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+@RequiredArgsConstructor
+public class AdminDiagnosticsController {
+
+    private final SlowRequestBuffer slowRequestBuffer;
+
+    @Operation(summary = "Get the slowest sampled requests (ADMIN only)",
+            description = "Slowest recent requests among the sampled ones, slowest first, each with the SQL statements it ran. "
+                    + "Sampling, threshold and size are set under diagnostics.slow-requests.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Slow requests retrieved",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = SlowRequestResponseDTO.class)))),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/slow-requests")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<List<SlowRequestResponseDTO>> getSlowRequests() {
+        return ResponseEntity.ok(slowRequestBuffer.snapshot().stream()
+                .map(AdminDiagnosticsController::toSlowRequestResponseDTO)
+                .toList());
+    }
+
+    @Operation(summary = "Clear the captured slow requests (ADMIN only)",
+            description = "Empties the buffer, e.g. before reproducing an issue.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Buffer cleared"),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @DeleteMapping("/slow-requests")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<HttpStatus> clearSlowRequests() {
+        slowRequestBuffer.clear();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    private static SlowRequestResponseDTO toSlowRequestResponseDTO(SlowRequest request) {
+        return SlowRequestResponseDTO.builder()
+                .method(request.method())
+                .route(request.route())
+                .uri(request.uri())
+                .status(request.status())
+                .startedAt(request.startedAt().toString())
+                .durationMs(millis(request.durationNanos()))
+                .sqlMs(millis(request.sqlNanos()))
+                .statementCount(request.statementCount())
+                .statements(request.statements().stream()
+                        .map(statement -> SqlStatementResponseDTO.builder()
+                                .fingerprint(statement.fingerprint())
+                                .offsetMs(millis(statement.offsetNanos()))
+                                .durationMs(millis(statement.durationNanos()))
+                                .rows(statement.rows())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,172 @@
+package com.daniyal.bookstore.controller;
+
+import com.daniyal.bookstore.dto.RecordingRequestDTO;
+import com.daniyal.bookstore.dto.RecordingResponseDTO;
+import com.daniyal.bookstore.exceptions.ApiErrorResponse;
+import com.daniyal.bookstore.service.FlightRecorderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Tag(name = "Admin Flight Recorder", description = "JDK Flight Recorder control for administrators")
+@RestController
+@RequestMapping("/api/admin/jfr/recordings")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+public class AdminFlightRecorderController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    @Operation(summary = "Start a recording (ADMIN only)",
+            description = "Starts a JFR recording with the JDK default or profile settings plus the bookstore events.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Recording started",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = RecordingResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid settings, duration or limits",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping
+    public ResponseEntity<RecordingResponseDTO> startRecording(@Valid @RequestBody RecordingRequestDTO request) {
+        return new ResponseEntity<>(flightRecorderService.startRecording(request), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "List recordings (ADMIN only)",
+            description = "All recordings of this JVM, including the continuous one and those started with jcmd.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Recordings retrieved",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = RecordingResponseDTO.class)))),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping
+    public ResponseEntity<List<RecordingResponseDTO>> listRecordings() {
+        return ResponseEntity.ok(flightRecorderService.listRecordings());
+    }
+
+    @Operation(summary = "Stop a recording (ADMIN only)",
+            description = "Stops the recording, its data stays available for dump until it is deleted.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Recording stopped",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = RecordingResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Recording not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<RecordingResponseDTO> stopRecording(@PathVariable long id) {
+        return ResponseEntity.ok(flightRecorderService.stopRecording(id));
+    }
+
+    @Operation(summary = "Download a recording (ADMIN only)",
+            description = "The recording as a .jfr file for JDK Mission Control or `jfr print`. A running recording keeps running.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Recording file",
+                    content = @Content(mediaType = "application/octet-stream")),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Recording not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/{id}/dump")
+    public ResponseEntity<InputStreamResource> dumpRecording(@PathVariable long id) throws IOException {
+        Path file = flightRecorderService.dumpRecording(id);
+        long size;
+        InputStreamResource body;
+        try {
+            size = Files.size(file);
+            // the temporary dump goes away when the converter closes the stream, no async dispatch needed
+            body = new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("bookstore-recording-" + id + ".jfr").build().toString())
+                .body(body);
+    }
+
+    @Operation(summary = "Delete a recording (ADMIN only)",
+            description = "Stops the recording if needed and frees its disk buffer.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Recording deleted"),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Recording not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<HttpStatus> closeRecording(@PathVariable long id) {
+        flightRecorderService.closeRecording(id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -0,0 +1,60 @@
+package com.daniyal.bookstore.controller;
+
+import com.daniyal.bookstore.dto.SalesReportResponseDTO;
+import com.daniyal.bookstore.exceptions.ApiErrorResponse;
+import com.daniyal.bookstore.service.SalesRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@Tag(name = "Admin Reports", description = "Finance reports for administrators")
+@RestController
+@RequestMapping("/api/admin/reports")
+@RequiredArgsConstructor
+public class AdminReportController {
+
+    private final SalesRollupService salesRollupService;
+
+    @Operation(summary = "Get sales report for a date range (ADMIN only)",
+            description = "Units and revenue of completed orders per day, per genre and for the top books. "
+                    + "Reads only the daily rollup tables, never the orders tables.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sales report retrieved",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = SalesReportResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/sales")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<SalesReportResponseDTO> getSalesReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(salesRollupService.getSalesReport(from, to, top));
+    }
+}
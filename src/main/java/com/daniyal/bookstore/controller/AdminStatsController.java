@@ -0,0 +1,106 @@
+package com.daniyal.bookstore.controller;
+
+import com.daniyal.bookstore.dto.OrderStatsResponseDTO;
+import com.daniyal.bookstore.dto.RateLimitStatsResponseDTO;
+import com.daniyal.bookstore.dto.SecurityRejectionStatsResponseDTO;
+import com.daniyal.bookstore.exceptions.ApiErrorResponse;
+import com.daniyal.bookstore.security.RateLimiter;
+import com.daniyal.bookstore.security.handlers.SecurityRejectionWriter;
+import com.daniyal.bookstore.service.OrderStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Admin Stats", description = "Dashboard statistics for administrators")
+@RestController
+@RequestMapping("/api/admin/stats")
+@RequiredArgsConstructor
+public class AdminStatsController {
+
+    private final OrderStatsService orderStatsService;
+    private final RateLimiter rateLimiter;
+    private final SecurityRejectionWriter securityRejectionWriter;
+
+    @Operation(summary = "Get order counters (ADMIN only)",
+            description = "Order counts per order status and payment status plus paid revenue, served from in-memory counters. "
+                    + "Counters are per instance: changes made through other instances show up after the next "
+                    + "reconcile (every 5 minutes by default, see lastReconciledAt).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Order statistics retrieved",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderStatsResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/orders")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<OrderStatsResponseDTO> getOrderStats() {
+        return ResponseEntity.ok(orderStatsService.getStats());
+    }
+
+    @Operation(summary = "Get rate limiter counters (ADMIN only)",
+            description = "Allowed and rejected requests per route group and the number of live token buckets.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rate limiter statistics retrieved",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = RateLimitStatsResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/rate-limits")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<RateLimitStatsResponseDTO> getRateLimitStats() {
+        return ResponseEntity.ok(RateLimitStatsResponseDTO.builder()
+                .trackedBuckets(rateLimiter.getTrackedBuckets())
+                .allowedByGroup(rateLimiter.getAllowedByGroup())
+                .rejectedByGroup(rateLimiter.getRejectedByGroup())
+                .build());
+    }
+
+    @Operation(summary = "Get security rejection counters (ADMIN only)",
+            description = "Number of 401 / 403 / 429 responses written by the security layer, per reason.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rejection statistics retrieved",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = SecurityRejectionStatsResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/rejections")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<SecurityRejectionStatsResponseDTO> getRejectionStats() {
+        return ResponseEntity.ok(SecurityRejectionStatsResponseDTO.builder()
+                .rejectionsByReason(securityRejectionWriter.getRejectionCounts())
+                .build());
+    }
+}
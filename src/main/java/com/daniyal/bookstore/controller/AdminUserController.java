@@ -0,0 +1,107 @@
+package com.daniyal.bookstore.controller;
+
+import com.daniyal.bookstore.dto.UserImportRequestDTO;
+import com.daniyal.bookstore.dto.UserImportResponseDTO;
+import com.daniyal.bookstore.exceptions.ApiErrorResponse;
+import com.daniyal.bookstore.service.UserImportService;
+import com.daniyal.bookstore.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Admin Users", description = "Account management for administrators")
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final UserService userService;
+    private final UserImportService userImportService;
+
+    @Operation(summary = "Bulk import users (ADMIN only)",
+            description = "Creates up to 1000 CUSTOMER accounts in one call. Rows that are invalid or collide "
+                    + "with existing users (or each other) are skipped and reported, the rest are created.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import processed, see errors for skipped rows",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = UserImportResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized import",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Import capacity exhausted, retry after the Retry-After delay",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping("/import")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<UserImportResponseDTO> importUsers(@Valid @RequestBody UserImportRequestDTO request) {
+        return ResponseEntity.ok(userImportService.importUsers(request));
+    }
+
+    @Operation(summary = "Disable a user account (ADMIN only)",
+            description = "The user can no longer log in and every token already issued to them is revoked.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "User disabled"),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PatchMapping("/{id}/disable")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Void> disableUser(@PathVariable Long id) {
+        userService.disableUser(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Re-enable a user account (ADMIN only)",
+            description = "The user can log in again; tokens revoked while disabled stay revoked.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "User enabled"),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Admin access required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PatchMapping("/{id}/enable")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Void> enableUser(@PathVariable Long id) {
+        userService.enableUser(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,9 +1,12 @@
 package com.daniyal.bookstore.controller;
 
+import com.daniyal.bookstore.dto.BestsellerResponseDTO;
 import com.daniyal.bookstore.dto.BookRequestDTO;
 import com.daniyal.bookstore.dto.BookResponseDTO;
 import com.daniyal.bookstore.dto.BookUpdateDTO;
+import com.daniyal.bookstore.enums.BestsellerWindow;
 import com.daniyal.bookstore.exceptions.ApiErrorResponse;
+import com.daniyal.bookstore.service.BestsellerService;
 import com.daniyal.bookstore.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -29,6 +32,8 @@ import java.util.List;
 public class BookController {
     @Autowired
     private BookService bookService;
+    @Autowired
+    private BestsellerService bestsellerService;
 
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Book successfully created",
@@ -242,4 +247,27 @@ public class BookController {
     {
         return ResponseEntity.ok(bookService.getAllBooks());
     }
+
+    @Operation(summary = "Get best selling books",
+            description = "Top books by units sold in the last 24h or 7d, served from an in-memory sliding-window ranking. "
+                    + "Open to every authenticated user, unlike the rest of /api/books.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Best sellers retrieved",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Unsupported window or limit",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/bestsellers")
+    public ResponseEntity<List<BestsellerResponseDTO>> getBestsellers(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") int limit)
+    {
+        return ResponseEntity.ok(bestsellerService.getBestsellers(BestsellerWindow.fromLabel(window), limit));
+    }
 }
@@ -2,9 +2,11 @@ package com.daniyal.bookstore.controller;
 
 import com.daniyal.bookstore.dto.OrderRequestDTO;
 import com.daniyal.bookstore.dto.OrderResponseDTO;
+import com.daniyal.bookstore.dto.OrderSyncResponseDTO;
 import com.daniyal.bookstore.enums.OrderStatus;
 import com.daniyal.bookstore.enums.PaymentStatus;
 import com.daniyal.bookstore.exceptions.ApiErrorResponse;
+import com.daniyal.bookstore.security.AuthenticatedUser;
 import com.daniyal.bookstore.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,12 +20,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Tag(name = "Order", description = "APIs for order management including placing, updating, and retrieving orders")
@@ -56,10 +60,8 @@ public class OrderController {
             })
     @PostMapping
     public ResponseEntity<OrderResponseDTO> placeOrder(@Valid @RequestBody OrderRequestDTO orderRequestDTO, Authentication authentication) {
-        // get username from authentication
-        // because as username we have setted the email not user actual username
-        String email = authentication.getName();
-        return new ResponseEntity<>(orderService.placeOrder(orderRequestDTO, email), HttpStatus.CREATED);
+        // user id straight from the token, the service does not need to look the user up
+        return new ResponseEntity<>(orderService.placeOrder(orderRequestDTO, currentUserId(authentication)), HttpStatus.CREATED);
     }
 
     @Operation(summary = "Get order by ID",
@@ -80,11 +82,10 @@ public class OrderController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id, Authentication authentication) {
-        String email = authentication.getName();
         boolean isAdmin = authentication.getAuthorities()
                 .stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        return new ResponseEntity<>(orderService.getOrderById(id, email, isAdmin), HttpStatus.FOUND);
+        return new ResponseEntity<>(orderService.getOrderById(id, currentUserId(authentication), isAdmin), HttpStatus.FOUND);
     }
 
     @Operation(summary = "Get all orders of the logged-in user",
@@ -102,13 +103,37 @@ public class OrderController {
     public ResponseEntity<List<OrderResponseDTO>> getAllMyOrders(Authentication authentication) {
         /*
          Controller endpoint for fetching the currently logged-in user's own orders.
- - Extracts email from Authentication object for logged-in user.
- - Calls service to retrieve only the orders belonging to this email.
+ - Extracts the user id from the Authentication principal for logged-in user.
+ - Calls service to retrieve only the orders belonging to this user.
  - Admins calling this endpoint will also only see their own orders.
- - Uses secure email binding: users cannot pass in someone else’s email here.
+ - Uses secure identity binding: users cannot pass in someone else’s email here.
          */
-        String email = authentication.getName();
-        return ResponseEntity.ok(orderService.listOrdersForUser(email, email, false));
+        return ResponseEntity.ok(orderService.listOrdersForUser(authentication.getName(), currentUserId(authentication), false));
+    }
+
+    @Operation(summary = "Get orders of the logged-in user changed since a watermark",
+            description = "Delta sync: returns only orders created or updated after 'since' (ISO-8601 local date-time) "
+                    + "together with the watermark to send on the next call.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Changed orders and new watermark retrieved",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderSyncResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid 'since' timestamp",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping(value = "/my", params = "since")
+    public ResponseEntity<OrderSyncResponseDTO> getMyOrdersSince(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            Authentication authentication) {
+        // same secure identity binding as /my, the client only chooses the watermark
+        return ResponseEntity.ok(orderService.listOrdersForUserSince(currentUserId(authentication), since));
     }
 
     @Operation(summary = "Get all orders for a specific user (ADMIN only)",
@@ -133,12 +158,12 @@ public class OrderController {
          Controller endpoint for ADMIN to fetch orders for a specific user by email.
  - Requires ADMIN authority (@PreAuthorize ensures only admins can reach here).
  - Admin provides target user's email in the path variable.
- - Passes both the target email and admin's own email to service.
+ - Passes both the target email and admin's own user id to service.
  - Non-admins cannot access this endpoint (security handled at method level).
          */
         boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        return ResponseEntity.ok(orderService.listOrdersForUser(email, authentication.getName(), isAdmin));
+        return ResponseEntity.ok(orderService.listOrdersForUser(email, currentUserId(authentication), isAdmin));
 
     }
 
@@ -274,15 +299,15 @@ public class OrderController {
  - Restores stock quantities after cancellation.
  - Returns 204 No Content on success.
          */
-        String email = authentication.getName();
         boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        orderService.cancelOrder(orderId, email, isAdmin);
+        orderService.cancelOrder(orderId, currentUserId(authentication), isAdmin);
         return ResponseEntity.noContent().build(); // 204 No Content
     }
 
     @Operation(summary = "Update status of an order (ADMIN only)",
-            description = "Admins can update the order status, e.g., from PENDING to SHIPPED.")
+            description = "Admins can update the order status, e.g., from PENDING to SHIPPED. "
+                    + "DELIVERED is final, changing a delivered order returns 400.")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Order status updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid status or order state",
@@ -314,4 +339,9 @@ public class OrderController {
      */    orderService.updateOrderStatus(orderId,orderStatus);
         return ResponseEntity.noContent().build();
     }
+
+    // JwtAuthFilter always sets an AuthenticatedUser principal on /api/orders/**
+    private static Long currentUserId(Authentication authentication) {
+        return ((AuthenticatedUser) authentication.getPrincipal()).id();
+    }
 }
@@ -16,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
@@ -41,6 +42,10 @@ public class UserController {
                             mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Invalid credentials",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Login capacity exhausted, retry after the Retry-After delay",
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorResponse.class)))
@@ -54,6 +59,21 @@ public class UserController {
         return new ResponseEntity<>(loginResponse,HttpStatus.OK);
     }
 
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Token revoked, it can no longer be used"),
+            @ApiResponse(responseCode = "401", description = "Authentication required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logoutUser(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader)
+    {
+        // JwtAuthFilter already verified the token, only the "Bearer " prefix is left to strip
+        userService.logout(authorizationHeader.substring(7));
+        return ResponseEntity.noContent().build();
+    }
+
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(
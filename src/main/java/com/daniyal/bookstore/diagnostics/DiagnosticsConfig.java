@@ -0,0 +1,47 @@
+package com.daniyal.bookstore.diagnostics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/*
+ Slow-request capture: the DataSource is wrapped in SqlCaptureDataSource, and SlowRequestFilter runs
+ just outside the Spring Security chain so the JWT / rate limit work is part of the measured time.
+*/
+@Configuration
+public class DiagnosticsConfig {
+
+    // static: post-processors are instantiated before the configuration class itself
+    @Bean
+    public static BeanPostProcessor sqlCaptureDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlCaptureDataSource)) {
+                    return new SqlCaptureDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SlowRequestBuffer slowRequestBuffer(SlowRequestProperties properties) {
+        return new SlowRequestBuffer(properties.getCapacity(), Duration.ofMinutes(properties.getMaxAgeMinutes()));
+    }
+
+    @Bean
+    public FilterRegistrationBean<SlowRequestFilter> slowRequestFilterRegistration(SlowRequestProperties properties,
+                                                                                   SlowRequestBuffer buffer) {
+        FilterRegistrationBean<SlowRequestFilter> registration =
+                new FilterRegistrationBean<>(new SlowRequestFilter(properties, buffer));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,19 @@
+package com.daniyal.bookstore.diagnostics;
+
+import java.time.Instant;
+import java.util.List;
+
+// One captured slow request, immutable once it is in the SlowRequestBuffer.
+public record SlowRequest(String method,
+                          String route,
+                          String uri,
+                          int status,
+                          Instant startedAt,
+                          long durationNanos,
+                          int statementCount,
+                          long sqlNanos,
+                          List<Statement> statements) {
+
+    public record Statement(String fingerprint, long offsetNanos, long durationNanos, long rows) {
+    }
+}
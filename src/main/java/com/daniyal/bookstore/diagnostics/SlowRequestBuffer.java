@@ -0,0 +1,78 @@
+package com.daniyal.bookstore.diagnostics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ The N slowest recent requests, for the admin endpoint.
+ - A fixed ring of slots that only changes through compareAndSet. Request threads never block each other
+   or the reader. A thread that loses a race rescans.
+ - A new entry takes an empty or expired slot first. Otherwise it replaces the fastest entry if it is
+   slower, and is dropped if not. The scan is O(N) per offer, and only slow sampled requests offer.
+ - Entries expire after maxAge, so one bad minute does not hide what is slow now.
+*/
+public class SlowRequestBuffer {
+
+    private final AtomicReferenceArray<SlowRequest> slots;
+    private final Duration maxAge;
+
+    public SlowRequestBuffer(int capacity, Duration maxAge) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.maxAge = maxAge;
+    }
+
+    // true when the request was kept
+    public boolean offer(SlowRequest request) {
+        Instant oldestKept = Instant.now().minus(maxAge);
+        while (true) {
+            int victim = -1;
+            SlowRequest victimEntry = null;
+            for (int i = 0; i < slots.length(); i++) {
+                SlowRequest current = slots.get(i);
+                if (current == null || current.startedAt().isBefore(oldestKept)) {
+                    victim = i;
+                    victimEntry = current;
+                    break;
+                }
+                if (victim < 0 || current.durationNanos() < victimEntry.durationNanos()) {
+                    victim = i;
+                    victimEntry = current;
+                }
+            }
+            if (victimEntry != null && !victimEntry.startedAt().isBefore(oldestKept)
+                    && victimEntry.durationNanos() >= request.durationNanos()) {
+                return false;
+            }
+            if (slots.compareAndSet(victim, victimEntry, request)) {
+                return true;
+            }
+        }
+    }
+
+    // slowest first, expired entries left out
+    public List<SlowRequest> snapshot() {
+        Instant oldestKept = Instant.now().minus(maxAge);
+        List<SlowRequest> requests = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            SlowRequest current = slots.get(i);
+            if (current != null && !current.startedAt().isBefore(oldestKept)) {
+                requests.add(current);
+            }
+        }
+        requests.sort(Comparator.comparingLong(SlowRequest::durationNanos).reversed());
+        return requests;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
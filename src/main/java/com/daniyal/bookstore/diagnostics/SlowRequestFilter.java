@@ -0,0 +1,62 @@
+package com.daniyal.bookstore.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ Samples /api requests and records the SQL they run.
+ - A sampled request gets a SqlTimeline for its whole run, including the security filters. If it ends
+   slower than the threshold, it goes to the SlowRequestBuffer with its statements.
+ - Unsampled requests cost one random draw. Slowness is only known at the end, so the sample rate
+   also caps how many slow requests are caught.
+ - Registered ahead of the Spring Security chain in DiagnosticsConfig.
+*/
+public class SlowRequestFilter extends OncePerRequestFilter {
+
+    private final SlowRequestProperties properties;
+    private final SlowRequestBuffer buffer;
+
+    public SlowRequestFilter(SlowRequestProperties properties, SlowRequestBuffer buffer) {
+        this.properties = properties;
+        this.buffer = buffer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!properties.isEnabled() || ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Instant startedAt = Instant.now();
+        SqlTimeline timeline = SqlTimeline.start(properties.getMaxStatements());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlTimeline.stop();
+            long durationNanos = System.nanoTime() - timeline.getStartNanos();
+            if (durationNanos >= Duration.ofMillis(properties.getThresholdMs()).toNanos()) {
+                // the route pattern is only known once the request went through the DispatcherServlet
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                buffer.offer(new SlowRequest(request.getMethod(),
+                        route != null ? route.toString() : null,
+                        request.getRequestURI(),
+                        response.getStatus(),
+                        startedAt,
+                        durationNanos,
+                        timeline.getStatementCount(),
+                        timeline.getSqlNanos(),
+                        timeline.snapshot()));
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.daniyal.bookstore.diagnostics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+// `diagnostics.slow-requests` section of application.yml, see SlowRequestFilter.
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "diagnostics.slow-requests")
+public class SlowRequestProperties {
+
+    private boolean enabled = true;
+    // share of /api requests whose SQL is captured, the others only pay one random draw
+    private double sampleRate = 0.05;
+    // sampled requests faster than this are not kept
+    private long thresholdMs = 200;
+    // slowest requests kept for the admin endpoint
+    private int capacity = 50;
+    // older entries give way to any new slow request, so the buffer shows recent traffic
+    private long maxAgeMinutes = 60;
+    // statements kept per request, further ones are only counted
+    private int maxStatements = 200;
+}
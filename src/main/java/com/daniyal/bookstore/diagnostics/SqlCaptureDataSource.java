@@ -0,0 +1,185 @@
+package com.daniyal.bookstore.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/*
+ DataSource proxy recording the statements of sampled requests into their SqlTimeline.
+ - The decision is made once per getConnection. Without a timeline on the thread (unsampled requests,
+   schedulers, batch jobs) the pool's connection is returned untouched, no per-statement cost.
+ - With a timeline, the connection, its statements and their result sets are JDK proxies. They time the
+   execute* calls and count the rows read. With open-in-view the connection lives as long as the request.
+ - DelegatingDataSource keeps unwrap() working, so the Hikari metrics and health checks still see the pool.
+*/
+public class SqlCaptureDataSource extends DelegatingDataSource {
+
+    public SqlCaptureDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return capture(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return capture(super.getConnection(username, password));
+    }
+
+    private static Connection capture(Connection connection) {
+        SqlTimeline timeline = SqlTimeline.current();
+        if (timeline == null) {
+            return connection;
+        }
+        return proxy(Connection.class, new ConnectionHandler(connection, timeline));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlCaptureDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /*
+     - equals / hashCode stay on the proxy: Hibernate keys its open statements and result sets by them.
+     - The target's exception is rethrown as-is, not wrapped in an InvocationTargetException.
+    */
+    private abstract static class Handler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handle(method, args);
+            };
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class ConnectionHandler extends Handler {
+
+        private final Connection target;
+        private final SqlTimeline timeline;
+
+        private ConnectionHandler(Connection target, SqlTimeline timeline) {
+            this.target = target;
+            this.timeline = timeline;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement) {
+                // prepareStatement / prepareCall carry the SQL, createStatement gets it on execute
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql, timeline));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler extends Handler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final SqlTimeline timeline;
+        private String lastSql;
+        private SqlTimeline.Entry lastEntry;
+
+        private StatementHandler(Statement target, String preparedSql, SqlTimeline timeline) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.timeline = timeline;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.equals("addBatch") && args != null && args[0] instanceof String sql) {
+                lastSql = sql;
+            }
+            Object result = invokeTarget(target, method, args);
+            if (name.equals("getResultSet") && result instanceof ResultSet resultSet) {
+                return countRows(resultSet, lastEntry);
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String sql = preparedSql;
+            if (sql == null) {
+                sql = args != null && args.length > 0 && args[0] instanceof String text ? text : lastSql;
+            }
+            long start = System.nanoTime();
+            Object result = invokeTarget(target, method, args);
+            lastEntry = timeline.record(sql, start, System.nanoTime() - start);
+            if (lastEntry != null) {
+                switch (result) {
+                    case Integer count -> lastEntry.addRows(Math.max(count, 0));
+                    case Long count -> lastEntry.addRows(Math.max(count, 0));
+                    case int[] counts -> {
+                        for (int count : counts) {
+                            lastEntry.addRows(Math.max(count, 0));
+                        }
+                    }
+                    case long[] counts -> {
+                        for (long count : counts) {
+                            lastEntry.addRows(Math.max(count, 0));
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return result instanceof ResultSet resultSet ? countRows(resultSet, lastEntry) : result;
+        }
+    }
+
+    private static ResultSet countRows(ResultSet resultSet, SqlTimeline.Entry entry) {
+        if (entry == null) {
+            return resultSet;
+        }
+        return proxy(ResultSet.class, new ResultSetHandler(resultSet, entry));
+    }
+
+    private static final class ResultSetHandler extends Handler {
+
+        private final ResultSet target;
+        private final SqlTimeline.Entry entry;
+
+        private ResultSetHandler(ResultSet target, SqlTimeline.Entry entry) {
+            this.target = target;
+            this.entry = entry;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                entry.addRows(1);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.daniyal.bookstore.diagnostics;
+
+import java.util.regex.Pattern;
+
+/*
+ SQL text with the values taken out, so the same statement reads the same across requests:
+ string and number literals become ?, IN lists of any length become (?...), whitespace is squeezed.
+ Hibernate already binds parameters, this mostly matters for batch-fetch IN lists and native SQL.
+*/
+final class SqlFingerprint {
+
+    static final int MAX_LENGTH = 1000;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    // not inside identifiers such as b1_0
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin \\(\\?(?:, ?\\?)*\\)");
+
+    private SqlFingerprint() {
+    }
+
+    static String of(String sql) {
+        if (sql == null) {
+            return "(unknown)";
+        }
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+        fingerprint = fingerprint.replace("( ", "(").replace(" )", ")");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("in (?...)");
+        return fingerprint.length() > MAX_LENGTH ? fingerprint.substring(0, MAX_LENGTH) + "..." : fingerprint;
+    }
+}
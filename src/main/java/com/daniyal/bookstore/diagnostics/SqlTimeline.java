@@ -0,0 +1,92 @@
+package com.daniyal.bookstore.diagnostics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ SQL statements run by one sampled request, in execution order.
+ - start() binds a timeline to the current thread and stop() unbinds it. SqlCaptureDataSource records into
+   the bound timeline and records nothing on threads without one.
+ - Only touched by the request thread, no synchronization.
+ - Offsets are measured from the start of the request. Durations cover the execute call. Rows are update
+   counts for writes, and the rows read through the ResultSet for queries.
+*/
+public final class SqlTimeline {
+
+    private static final ThreadLocal<SqlTimeline> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final int maxStatements;
+    private final List<Entry> entries = new ArrayList<>();
+    private int statementCount;
+    private long sqlNanos;
+
+    private SqlTimeline(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    static SqlTimeline start(int maxStatements) {
+        SqlTimeline timeline = new SqlTimeline(maxStatements);
+        CURRENT.set(timeline);
+        return timeline;
+    }
+
+    static SqlTimeline current() {
+        return CURRENT.get();
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    // null once maxStatements are kept, the statement still counts towards the totals
+    Entry record(String sql, long executeStartNanos, long durationNanos) {
+        statementCount++;
+        sqlNanos += durationNanos;
+        if (entries.size() >= maxStatements) {
+            return null;
+        }
+        Entry entry = new Entry(sql, executeStartNanos - startNanos, durationNanos);
+        entries.add(entry);
+        return entry;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    int getStatementCount() {
+        return statementCount;
+    }
+
+    long getSqlNanos() {
+        return sqlNanos;
+    }
+
+    // fingerprints are only computed here, once the request turned out to be slow
+    List<SlowRequest.Statement> snapshot() {
+        List<SlowRequest.Statement> statements = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            statements.add(new SlowRequest.Statement(SqlFingerprint.of(entry.sql),
+                    entry.offsetNanos, entry.durationNanos, entry.rows));
+        }
+        return statements;
+    }
+
+    static final class Entry {
+        private final String sql;
+        private final long offsetNanos;
+        private final long durationNanos;
+        private long rows;
+
+        private Entry(String sql, long offsetNanos, long durationNanos) {
+            this.sql = sql;
+            this.offsetNanos = offsetNanos;
+            this.durationNanos = durationNanos;
+        }
+
+        void addRows(long count) {
+            rows += count;
+        }
+    }
+}
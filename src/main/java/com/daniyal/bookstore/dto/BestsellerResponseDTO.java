@@ -0,0 +1,22 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "A best selling book within a time window")
+public class BestsellerResponseDTO {
+
+    @Schema(description = "ID of the book", example = "10")
+    private Long bookId;
+
+    @Schema(description = "Title of the book", example = "Clean Architecture")
+    private String title;
+
+    @Schema(description = "Estimated units sold in the window (may slightly overcount, never undercounts)", example = "57")
+    private long unitsSold;
+}
@@ -0,0 +1,27 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Units sold and revenue of one book over a report range")
+public class BookSalesResponseDTO {
+
+    @Schema(description = "ID of the book", example = "10")
+    private Long bookId;
+
+    @Schema(description = "Title of the book", example = "Clean Architecture")
+    private String bookTitle;
+
+    @Schema(description = "Units sold", example = "42")
+    private Long units;
+
+    @Schema(description = "Revenue from completed orders", example = "1680.00")
+    private BigDecimal revenue;
+}
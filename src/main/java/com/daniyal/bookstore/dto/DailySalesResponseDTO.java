@@ -0,0 +1,25 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Units sold and revenue on one day")
+public class DailySalesResponseDTO {
+
+    @Schema(description = "Day the orders were completed", example = "2025-08-17")
+    private LocalDate date;
+
+    @Schema(description = "Units sold", example = "35")
+    private Long units;
+
+    @Schema(description = "Revenue from completed orders", example = "1400.00")
+    private BigDecimal revenue;
+}
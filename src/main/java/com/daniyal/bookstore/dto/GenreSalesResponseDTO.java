@@ -0,0 +1,24 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Units sold and revenue of one genre over a report range")
+public class GenreSalesResponseDTO {
+
+    @Schema(description = "Genre of the books", example = "Programming")
+    private String genre;
+
+    @Schema(description = "Units sold", example = "120")
+    private Long units;
+
+    @Schema(description = "Revenue from completed orders", example = "4800.00")
+    private BigDecimal revenue;
+}
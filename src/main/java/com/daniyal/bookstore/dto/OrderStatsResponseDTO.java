@@ -0,0 +1,33 @@
+package com.daniyal.bookstore.dto;
+
+import com.daniyal.bookstore.enums.OrderStatus;
+import com.daniyal.bookstore.enums.PaymentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Order counters for the admin dashboard, served from the memory of the instance that answers")
+public class OrderStatsResponseDTO {
+
+    @Schema(description = "Total number of orders", example = "1250")
+    private long totalOrders;
+
+    @Schema(description = "Number of orders per order status", example = "{\"PENDING\": 40, \"SHIPPED\": 10, \"DELIVERED\": 1100, \"CANCELLED\": 100}")
+    private Map<OrderStatus, Long> ordersByStatus;
+
+    @Schema(description = "Number of orders per payment status", example = "{\"UNPAID\": 45, \"PAID\": 1150, \"REFUNDED\": 55}")
+    private Map<PaymentStatus, Long> ordersByPaymentStatus;
+
+    @Schema(description = "Sum of totalAmount over orders currently PAID", example = "48210.50")
+    private BigDecimal paidRevenue;
+
+    @Schema(description = "When the counters were last reconciled against the database", example = "2025-08-17T16:46:13.707408")
+    private String lastReconciledAt;
+}
@@ -0,0 +1,21 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Orders changed since the client's last sync, plus the watermark to use for the next sync")
+public class OrderSyncResponseDTO {
+
+    @Schema(description = "Orders created or updated after the supplied watermark, oldest change first")
+    private List<OrderResponseDTO> orders;
+
+    @Schema(description = "Watermark to send as 'since' on the next sync", example = "2025-08-17T16:46:13.707408")
+    private String watermark;
+}
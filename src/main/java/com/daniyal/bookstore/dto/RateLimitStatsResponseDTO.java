@@ -0,0 +1,24 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.Map;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Rate limiter counters since startup")
+public class RateLimitStatsResponseDTO {
+
+    @Schema(description = "Token buckets currently held in memory (active clients per route group)", example = "312")
+    private int trackedBuckets;
+
+    @Schema(description = "Requests let through per route group", example = "{\"login\": 950, \"orders\": 12000}")
+    private Map<String, Long> allowedByGroup;
+
+    @Schema(description = "Requests rejected with 429 per route group", example = "{\"login\": 40, \"orders\": 3}")
+    private Map<String, Long> rejectedByGroup;
+}
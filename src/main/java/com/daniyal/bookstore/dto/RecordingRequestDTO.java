@@ -0,0 +1,39 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request DTO to start a Flight Recorder recording")
+public class RecordingRequestDTO {
+
+    @Size(max = 100, message = "Name must be at most 100 characters")
+    @Schema(description = "Recording name, defaults to bookstore-<timestamp>", example = "checkout-investigation")
+    private String name;
+
+    // the two configurations shipped with the JDK: default ~1% overhead, profile ~2% with more detail
+    @Pattern(regexp = "default|profile", message = "Settings must be 'default' or 'profile'")
+    @Schema(description = "JDK settings to record with: default (always-on safe) or profile (more detail)", example = "profile")
+    private String settings;
+
+    @Min(value = 1, message = "Duration must be at least 1 minute")
+    @Max(value = 1440, message = "Duration must be at most 1440 minutes")
+    @Schema(description = "Stop automatically after this many minutes, runs until stopped when empty", example = "10")
+    private Integer durationMinutes;
+
+    @Min(value = 1, message = "Max age must be at least 1 minute")
+    @Schema(description = "Older data is discarded from the on-disk buffer", example = "30")
+    private Integer maxAgeMinutes;
+
+    @Min(value = 1, message = "Max size must be at least 1 MB")
+    @Schema(description = "On-disk buffer size cap in MB", example = "200")
+    private Integer maxSizeMb;
+}
@@ -0,0 +1,40 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "A Flight Recorder recording of this JVM")
+public class RecordingResponseDTO {
+
+    @Schema(description = "Recording id, used by stop / dump / delete", example = "3")
+    private long id;
+
+    @Schema(description = "Recording name", example = "bookstore-continuous")
+    private String name;
+
+    @Schema(description = "NEW, DELAYED, RUNNING, STOPPED or CLOSED", example = "RUNNING")
+    private String state;
+
+    @Schema(description = "Start time (UTC), null when not started", example = "2025-08-14T09:31:02Z")
+    private String startTime;
+
+    @Schema(description = "Stop time (UTC), null while running", example = "2025-08-14T09:41:02Z")
+    private String stopTime;
+
+    @Schema(description = "Automatic stop after this many seconds, null when unbounded", example = "600")
+    private Long durationSeconds;
+
+    @Schema(description = "Data older than this many seconds is discarded, null when unbounded", example = "1800")
+    private Long maxAgeSeconds;
+
+    @Schema(description = "On-disk buffer cap in bytes, 0 when unbounded", example = "209715200")
+    private long maxSizeBytes;
+
+    @Schema(description = "Bytes recorded so far", example = "5242880")
+    private long sizeBytes;
+}
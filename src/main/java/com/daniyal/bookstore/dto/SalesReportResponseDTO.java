@@ -0,0 +1,41 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Sales report over a date range, read from the daily rollup tables")
+public class SalesReportResponseDTO {
+
+    @Schema(description = "First day of the range (inclusive)", example = "2025-08-01")
+    private LocalDate from;
+
+    @Schema(description = "Last day of the range (inclusive)", example = "2025-08-31")
+    private LocalDate to;
+
+    @Schema(description = "Total units sold in the range", example = "1200")
+    private long totalUnits;
+
+    @Schema(description = "Total revenue in the range", example = "48000.00")
+    private BigDecimal totalRevenue;
+
+    @Schema(description = "Orders completed up to this instant are included in the rollups", example = "2025-08-17T16:45:13.707408")
+    private String rolledUpUntil;
+
+    @Schema(description = "Per-day totals, oldest first")
+    private List<DailySalesResponseDTO> days;
+
+    @Schema(description = "Per-genre totals, highest revenue first")
+    private List<GenreSalesResponseDTO> genres;
+
+    @Schema(description = "Best selling books by revenue, highest first")
+    private List<BookSalesResponseDTO> topBooks;
+}
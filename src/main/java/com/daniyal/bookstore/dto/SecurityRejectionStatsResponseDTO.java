@@ -0,0 +1,19 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.Map;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Requests turned away by the security layer since startup")
+public class SecurityRejectionStatsResponseDTO {
+
+    @Schema(description = "Rejections per reason (401 / 403 / 429 variants)",
+            example = "{\"AUTH_REQUIRED\": 120, \"TOKEN_EXPIRED\": 35, \"FORBIDDEN\": 4, \"RATE_LIMITED\": 900}")
+    private Map<String, Long> rejectionsByReason;
+}
@@ -0,0 +1,42 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "A sampled request slower than the threshold, with the SQL it ran")
+public class SlowRequestResponseDTO {
+
+    @Schema(description = "HTTP method", example = "POST")
+    private String method;
+
+    @Schema(description = "Matched route pattern, null when no controller handled the request", example = "/api/orders/{id}/cancel")
+    private String route;
+
+    @Schema(description = "Request path", example = "/api/orders/42/cancel")
+    private String uri;
+
+    @Schema(description = "Response status", example = "200")
+    private int status;
+
+    @Schema(description = "Start of the request (UTC)", example = "2025-08-14T09:31:02.114Z")
+    private String startedAt;
+
+    @Schema(description = "Total time in milliseconds, security filters included", example = "412.7")
+    private double durationMs;
+
+    @Schema(description = "Time spent executing SQL in milliseconds", example = "355.0")
+    private double sqlMs;
+
+    @Schema(description = "Statements run, including those beyond the per-request limit", example = "43")
+    private int statementCount;
+
+    @Schema(description = "Statements in execution order, capped at diagnostics.slow-requests.max-statements")
+    private List<SqlStatementResponseDTO> statements;
+}
@@ -0,0 +1,26 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "One SQL statement run by a captured request")
+public class SqlStatementResponseDTO {
+
+    @Schema(description = "Statement text with literals and IN lists replaced by ?",
+            example = "select a1_0.book_id,a1_1.id,a1_1.name from book_author a1_0 join authors a1_1 on a1_1.id=a1_0.author_id where a1_0.book_id in (?...)")
+    private String fingerprint;
+
+    @Schema(description = "Time from the start of the request until the statement was executed, in milliseconds", example = "12.4")
+    private double offsetMs;
+
+    @Schema(description = "Execution time in milliseconds, reading the result set not included", example = "3.1")
+    private double durationMs;
+
+    @Schema(description = "Rows updated, or rows read from the result set", example = "40")
+    private long rows;
+}
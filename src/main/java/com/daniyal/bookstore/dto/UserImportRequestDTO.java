@@ -0,0 +1,23 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request DTO to provision many users at once")
+public class UserImportRequestDTO {
+
+    // rows are validated one by one by the service so a bad row is reported instead of failing the batch
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 1000, message = "At most 1000 users per import")
+    @Schema(description = "Users to create, each row like a registration request", required = true)
+    private List<UserRequestDTO> users;
+}
@@ -0,0 +1,24 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk user import")
+public class UserImportResponseDTO {
+
+    @Schema(description = "Number of rows received", example = "500")
+    private int requested;
+
+    @Schema(description = "Number of users created", example = "497")
+    private int created;
+
+    @Schema(description = "Rows that were skipped, with the reason")
+    private List<UserImportRowErrorDTO> errors;
+}
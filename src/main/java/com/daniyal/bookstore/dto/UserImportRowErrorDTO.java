@@ -0,0 +1,24 @@
+package com.daniyal.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.Map;
+
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A row of a bulk import that was not created")
+public class UserImportRowErrorDTO {
+
+    @Schema(description = "Zero-based position of the row in the request", example = "3")
+    private int row;
+
+    @Schema(description = "Email of the row, as sent", example = "john@example.com")
+    private String email;
+
+    @Schema(description = "Field errors of the row", example = "{\"email\": \"Email already exists\"}")
+    private Map<String, String> errors;
+}
@@ -0,0 +1,51 @@
+package com.daniyal.bookstore.entity;
+
+import com.daniyal.bookstore.enums.OrderStatus;
+import com.daniyal.bookstore.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Cold copy of a finished (DELIVERED / CANCELLED) order, moved out of `orders` by the archival job.
+// Rows are written with INSERT ... SELECT and keep their original id; they are never updated.
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name="orders_archive",
+        indexes ={
+            @Index(name="idx_order_archive_user_createdAt", columnList = "user_id, created_at")
+        }
+)
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name="user_id")
+    private User user;
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus paymentStatus;
+
+    @OneToMany(mappedBy = "order")
+    @Builder.Default
+    private List<ArchivedOrderItem> orderItems=new ArrayList<>();
+
+    private BigDecimal totalAmount;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,31 @@
+package com.daniyal.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+// Cold copy of an order item, see ArchivedOrder.
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name="order_items_archive",
+        indexes = {
+            @Index(name="idx_order_item_archive_order", columnList = "order_id")
+        }
+)
+public class ArchivedOrderItem {
+    @Id
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY, optional=false)
+    @JoinColumn(name="book_id")
+    private Book book;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name="order_id")
+    private ArchivedOrder order;
+    private int quantity;
+    private BigDecimal subTotal;
+}
@@ -0,0 +1,37 @@
+package com.daniyal.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Daily per-book rollup of completed (DELIVERED) orders, maintained by the sales rollup job.
+// book_id is deliberately not a foreign key: history must survive a book being deleted.
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name="daily_book_sales",
+        uniqueConstraints = {
+            @UniqueConstraint(name="uk_daily_book_sales_date_book", columnNames = {"sales_date", "book_id"})
+        },
+        indexes = {
+            @Index(name="idx_daily_book_sales_book", columnList = "book_id")
+        }
+)
+public class DailyBookSales {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name="sales_date", nullable = false)
+    private LocalDate salesDate;
+    @Column(name="book_id", nullable = false)
+    private Long bookId;
+    // title at the time of the sale, so reports never have to join books
+    private String bookTitle;
+    private long units;
+    private BigDecimal revenue;
+}
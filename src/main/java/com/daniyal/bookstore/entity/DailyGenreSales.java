@@ -0,0 +1,31 @@
+package com.daniyal.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Daily per-genre rollup of completed (DELIVERED) orders, maintained by the sales rollup job.
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name="daily_genre_sales",
+        uniqueConstraints = {
+            @UniqueConstraint(name="uk_daily_genre_sales_date_genre", columnNames = {"sales_date", "genre"})
+        }
+)
+public class DailyGenreSales {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name="sales_date", nullable = false)
+    private LocalDate salesDate;
+    @Column(nullable = false)
+    private String genre;
+    private long units;
+    private BigDecimal revenue;
+}
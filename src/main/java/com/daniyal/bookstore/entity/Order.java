@@ -21,7 +21,10 @@ import java.util.List;
             @Index(name="idx_order_user", columnList = "user_id"),
             @Index(name="idx_order_status", columnList = "order_status"),
             @Index(name="idx_order_payment_status", columnList = "payment_status"),
-            @Index(name="idx_order_createdAt", columnList = "created_at")
+            @Index(name="idx_order_createdAt", columnList = "created_at"),
+            // backs the delta sync query (orders of one user changed after a watermark)
+            @Index(name="idx_order_user_updatedAt", columnList = "user_id, updated_at"),
+            @Index(name="idx_order_completedAt", columnList = "completed_at")
         }
 )
 public class Order {
@@ -47,6 +50,8 @@ public class Order {
     private LocalDateTime createdAt;
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+    // set once, when the order first becomes DELIVERED; high-water mark of the sales rollup job
+    private LocalDateTime completedAt;
 
     // there are three ways to assign date
     // 1 handle manually in service class
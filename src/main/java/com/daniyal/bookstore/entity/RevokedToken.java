@@ -0,0 +1,35 @@
+package com.daniyal.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A revoked JWT (tokenId = its jti) or, for a disabled account, every token of that user issued
+// up to revokedAt (tokenId = "user:" + email). Rows are purged once expiresAt has passed,
+// by then every token they cover has expired on its own.
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "revoked_tokens",
+        indexes = {
+            @Index(name = "idx_revoked_token_expiresAt", columnList = "expires_at")
+        }
+)
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(unique = true, nullable = false, length = 320)
+    private String tokenId;
+    @Column(nullable = false)
+    private String subject;
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,46 @@
+package com.daniyal.bookstore.entity;
+
+import com.daniyal.bookstore.enums.Role;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ User.roles stays a Set<String> for the API / JWT, but is stored as one int column (see Role),
+ so loading a user is a single-row read instead of a users + user_roles query per user.
+ Unknown role names fail loudly instead of being dropped silently.
+*/
+@Converter
+public class RolesConverter implements AttributeConverter<Set<String>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<String> roles) {
+        return toMask(roles);
+    }
+
+    @Override
+    public Set<String> convertToEntityAttribute(Integer mask) {
+        Set<String> roles = new HashSet<>();
+        if (mask != null) {
+            for (Role role : Role.values()) {
+                if ((mask & role.getBit()) != 0) {
+                    roles.add(role.name());
+                }
+            }
+        }
+        return roles;
+    }
+
+    public static int toMask(Collection<String> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (String role : roles) {
+                mask |= Role.valueOf(role).getBit();
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,24 @@
+package com.daniyal.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// High-water mark of an incremental job: the (completedAt, orderId) of the last order it processed.
+// The pair is needed because several orders can share the same completedAt.
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name="rollup_checkpoints")
+public class RollupCheckpoint {
+    @Id
+    private String jobName;
+    @Column(nullable = false)
+    private LocalDateTime lastCompletedAt;
+    @Column(nullable = false)
+    private Long lastOrderId;
+}
@@ -3,6 +3,7 @@ package com.daniyal.bookstore.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.List;
@@ -31,8 +32,16 @@ public class User {
     private String password;
     @Column(unique = true, nullable = false)
     private String email;
-    @ElementCollection(fetch = FetchType.EAGER)
-    private Set<String> roles;
+    // bitmask column, see RolesConverter / Role
+    @Convert(converter = RolesConverter.class)
+    @Column(name = "roles_mask", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Set<String> roles = new HashSet<>();
+    // disabled users cannot log in and their existing tokens are revoked, see TokenRevocationService
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean disabled=false;
 
     @OneToMany(mappedBy = "user")
     private List<Order> orders;
@@ -0,0 +1,33 @@
+package com.daniyal.bookstore.enums;
+
+import java.time.Duration;
+
+public enum BestsellerWindow {
+    LAST_24_HOURS("24h", Duration.ofHours(24)),
+    LAST_7_DAYS("7d", Duration.ofDays(7));
+
+    private final String label;
+    private final Duration length;
+
+    BestsellerWindow(String label, Duration length) {
+        this.label = label;
+        this.length = length;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public static BestsellerWindow fromLabel(String label) {
+        for (BestsellerWindow window : values()) {
+            if (window.label.equalsIgnoreCase(label)) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported bestseller window '" + label + "', use 24h or 7d");
+    }
+}
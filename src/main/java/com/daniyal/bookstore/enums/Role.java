@@ -0,0 +1,20 @@
+package com.daniyal.bookstore.enums;
+
+/*
+ Roles as stored in users.roles_mask, one bit each.
+ The bits are persisted: never reorder or reuse them, only add new roles with a new bit.
+*/
+public enum Role {
+    CUSTOMER(1),
+    ADMIN(1 << 1);
+
+    private final int bit;
+
+    Role(int bit) {
+        this.bit = bit;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+}
@@ -0,0 +1,15 @@
+package com.daniyal.bookstore.exceptions;
+
+import lombok.Getter;
+
+// Import hashing pool is saturated, the client should retry after `retryAfterSeconds`.
+@Getter
+public class ImportThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ImportThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
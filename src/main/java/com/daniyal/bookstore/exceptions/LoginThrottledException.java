@@ -0,0 +1,15 @@
+package com.daniyal.bookstore.exceptions;
+
+import lombok.Getter;
+
+// Login verification pool is saturated, the client should retry after `retryAfterSeconds`.
+@Getter
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.daniyal.bookstore.exceptions;
+
+public class OrderStatusTransitionException extends RuntimeException {
+    public OrderStatusTransitionException(String message) {
+        super(message);
+    }
+}
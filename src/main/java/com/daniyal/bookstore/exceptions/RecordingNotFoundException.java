@@ -0,0 +1,7 @@
+package com.daniyal.bookstore.exceptions;
+
+public class RecordingNotFoundException extends RuntimeException {
+    public RecordingNotFoundException(String message) {
+        super(message);
+    }
+}
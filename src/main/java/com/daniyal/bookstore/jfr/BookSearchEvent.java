@@ -0,0 +1,35 @@
+package com.daniyal.bookstore.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// BookServiceImpl.searchBooks: the search query, its count query and the DTO mapping
+@Name("com.daniyal.bookstore.BookSearch")
+@Label("Book Search")
+@Category({"Bookstore", "Books"})
+@Description("One book search page")
+@StackTrace(false)
+public class BookSearchEvent extends Event {
+
+    @Label("Title")
+    public String title;
+
+    @Label("Author")
+    public String author;
+
+    @Label("Genre")
+    public String genre;
+
+    @Label("Page")
+    public int page;
+
+    @Label("Page Size")
+    public int pageSize;
+
+    @Label("Total Matches")
+    public long totalMatches;
+}
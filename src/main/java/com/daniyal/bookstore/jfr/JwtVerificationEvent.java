@@ -0,0 +1,28 @@
+package com.daniyal.bookstore.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JwtUtil.extractAllClaims, runs on every authenticated request
+@Name("com.daniyal.bookstore.JwtVerification")
+@Label("JWT Verification")
+@Category({"Bookstore", "Security"})
+@Description("Claims extraction for one token, from the verified-claims cache or a full signature check")
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("User Id")
+    @Description("0 when the token was rejected or carries no user id")
+    public long userId;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Failure")
+    @Description("Simple name of the jjwt exception, null for a valid token")
+    public String failure;
+}
@@ -0,0 +1,32 @@
+package com.daniyal.bookstore.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// OrderServiceImpl.placeOrder, from the book lookup until the order is flushed (commit not included)
+@Name("com.daniyal.bookstore.OrderPlacement")
+@Label("Order Placement")
+@Category({"Bookstore", "Orders"})
+@Description("One placeOrder call, successful or not")
+@StackTrace(false)
+public class OrderPlacementEvent extends Event {
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Order Id")
+    @Description("0 when the order was not placed")
+    public long orderId;
+
+    @Label("Lines")
+    @Description("Order lines after merging lines of the same book")
+    public int lines;
+
+    @Label("Outcome")
+    @Description("PLACED, or the simple name of the exception that aborted it")
+    public String outcome;
+}
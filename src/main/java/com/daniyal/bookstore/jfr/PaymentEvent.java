@@ -0,0 +1,28 @@
+package com.daniyal.bookstore.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// MockPaymentService.processPayment
+@Name("com.daniyal.bookstore.Payment")
+@Label("Payment")
+@Category({"Bookstore", "Payments"})
+@Description("One payment attempt")
+@StackTrace(false)
+public class PaymentEvent extends Event {
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Amount")
+    @Description("Amount sent by the client")
+    public double amount;
+
+    @Label("Outcome")
+    @Description("PAID, ALREADY_PAID, or the simple name of the exception")
+    public String outcome;
+}
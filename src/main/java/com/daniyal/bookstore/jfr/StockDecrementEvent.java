@@ -0,0 +1,27 @@
+package com.daniyal.bookstore.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// instant event: the in-memory decrement, the UPDATE itself is part of the order flush
+@Name("com.daniyal.bookstore.StockDecrement")
+@Label("Stock Decrement")
+@Category({"Bookstore", "Orders"})
+@Description("Stock taken from one book by an order")
+@StackTrace(false)
+public class StockDecrementEvent extends Event {
+
+    @Label("Book Id")
+    public long bookId;
+
+    @Label("Quantity")
+    public int quantity;
+
+    @Label("Stock Before")
+    @Description("Quantity as read by this transaction, concurrent orders may have read the same value")
+    public int stockBefore;
+}
@@ -0,0 +1,69 @@
+package com.daniyal.bookstore.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/*
+ Log lines are JSON (logging.structured.format.console) written by a bounded AsyncAppender, see logback-spring.xml.
+ This class adds the request id, the sampled SQL log and the queue gauges (docs/metrics.md).
+*/
+@Configuration
+public class LoggingConfig {
+
+    static final String ASYNC_APPENDER_NAME = "ASYNC_CONSOLE";
+
+    // first filter of all, so security, tracing and access lines of the request get the id too
+    @Bean
+    public FilterRegistrationBean<RequestIdFilter> requestIdFilterRegistration() {
+        FilterRegistrationBean<RequestIdFilter> registration = new FilterRegistrationBean<>(new RequestIdFilter());
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // putIfAbsent: an inspector set in spring.jpa.properties (QueryCounter in the tests) wins
+    @Bean
+    public HibernatePropertiesCustomizer sampledSqlLoggerCustomizer(
+            @Value("${sql-logging.sample-rate:0}") double sampleRate) {
+        return hibernateProperties -> hibernateProperties.putIfAbsent(
+                AvailableSettings.STATEMENT_INSPECTOR, new SampledSqlLogger(sampleRate));
+    }
+
+    // looked up on every scrape, Spring Boot reconfigures logback during startup
+    @Bean
+    public MeterBinder asyncLogQueueMetrics() {
+        return registry -> {
+            Gauge.builder("bookstore.logging.queue.size", () -> {
+                        AsyncAppender appender = asyncAppender();
+                        return appender != null ? appender.getNumberOfElementsInQueue() : 0;
+                    })
+                    .description("Log events waiting for the console writer")
+                    .register(registry);
+            Gauge.builder("bookstore.logging.queue.remaining", () -> {
+                        AsyncAppender appender = asyncAppender();
+                        return appender != null ? appender.getRemainingCapacity() : 0;
+                    })
+                    .description("Free slots left in the log queue")
+                    .register(registry);
+        };
+    }
+
+    private static AsyncAppender asyncAppender() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context
+                && context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).getAppender(ASYNC_APPENDER_NAME)
+                instanceof AsyncAppender appender) {
+            return appender;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.daniyal.bookstore.logging;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ Replaces show-sql: logs a random sample of the statements Hibernate prepares, through the async appender
+ and with the request id of the calling thread, instead of printing every statement to stdout.
+ - sql-logging.sample-rate is per statement; 0 turns it off, 1 logs everything (local debugging).
+ - The full statement list of a slow request is in /api/admin/diagnostics/slow-requests.
+*/
+public class SampledSqlLogger implements StatementInspector {
+
+    private static final Logger logger = LoggerFactory.getLogger(SampledSqlLogger.class);
+
+    private final double sampleRate;
+
+    public SampledSqlLogger(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.info("sql: {}", sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,75 @@
+package com.daniyal.bookstore.metrics;
+
+import com.daniyal.bookstore.security.RateLimiter;
+import com.daniyal.bookstore.security.handlers.SecurityRejection;
+import com.daniyal.bookstore.security.handlers.SecurityRejectionWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/*
+ Application metrics on top of what Spring Boot binds by itself (http.server.requests, hikaricp.*,
+ hibernate.*, jvm.*), all scraped from /actuator/prometheus. Names are listed in docs/metrics.md.
+ The counters the admin stats endpoints already keep are exposed as-is, no second copy is kept.
+*/
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ControllerLatencyInterceptor(meterRegistry))
+                .addPathPatterns("/api/**");
+    }
+
+    // outside the Spring Security chain so JWT verification and rate limiting count towards the route,
+    // and outside the slow-request filter
+    @Bean
+    public FilterRegistrationBean<ResourceUsageFilter> resourceUsageFilterRegistration() {
+        FilterRegistrationBean<ResourceUsageFilter> registration =
+                new FilterRegistrationBean<>(new ResourceUsageFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder rateLimiterMetrics(RateLimiter rateLimiter) {
+        return registry -> {
+            for (String group : rateLimiter.getAllowedByGroup().keySet()) {
+                FunctionCounter.builder("bookstore.ratelimit.requests", rateLimiter,
+                                limiter -> limiter.getAllowedByGroup().getOrDefault(group, 0L))
+                        .tags("group", group, "outcome", "allowed")
+                        .register(registry);
+                FunctionCounter.builder("bookstore.ratelimit.requests", rateLimiter,
+                                limiter -> limiter.getRejectedByGroup().getOrDefault(group, 0L))
+                        .tags("group", group, "outcome", "rejected")
+                        .register(registry);
+            }
+            Gauge.builder("bookstore.ratelimit.buckets", rateLimiter, RateLimiter::getTrackedBuckets)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder securityRejectionMetrics(SecurityRejectionWriter securityRejectionWriter) {
+        return registry -> {
+            for (SecurityRejection rejection : SecurityRejection.values()) {
+                FunctionCounter.builder("bookstore.security.rejections", securityRejectionWriter,
+                                writer -> writer.getRejectionCounts().getOrDefault(rejection.name(), 0L))
+                        .tag("reason", rejection.name())
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.daniyal.bookstore.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/*
+ CPU time and heap allocation of each /api request, read from the request thread's ThreadMXBean counters
+ before and after the filter chain. It covers security filters, controller, service, Hibernate and JSON.
+ - Aggregated per route pattern and HTTP method (bookstore.request.cpu / bookstore.request.allocated, see
+   docs/metrics.md): sum / count ranks endpoints by cost per request, sum alone by total cost.
+ - Work handed to other threads is not counted: BCrypt on the login and import pools, the async bestseller
+   refresh. The allocation counter is per thread and exact, a request's share of GC is not included.
+ - Cost is two counter reads per request (CPU time is a clock_gettime on Linux, ~0.1-1 us); either counter
+   is skipped when the JVM does not support or has disabled it.
+*/
+public class ResourceUsageFilter extends OncePerRequestFilter {
+
+    public static final String CPU_METRIC_NAME = "bookstore.request.cpu";
+    public static final String ALLOCATION_METRIC_NAME = "bookstore.request.allocated";
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.ThreadMXBean allocationMXBean;
+    private final boolean cpuTimeEnabled;
+    private final Meter.MeterProvider<DistributionSummary> cpuSummaries;
+    private final Meter.MeterProvider<DistributionSummary> allocationSummaries;
+
+    public ResourceUsageFilter(MeterRegistry meterRegistry) {
+        this.cpuTimeEnabled = threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+        this.allocationMXBean = threadMXBean instanceof com.sun.management.ThreadMXBean sunBean
+                && sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()
+                ? sunBean : null;
+        this.cpuSummaries = DistributionSummary.builder(CPU_METRIC_NAME)
+                .description("CPU time of the request thread per request")
+                .baseUnit("seconds")
+                .withRegistry(meterRegistry);
+        this.allocationSummaries = DistributionSummary.builder(ALLOCATION_METRIC_NAME)
+                .description("Heap allocated by the request thread per request")
+                .baseUnit("bytes")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!cpuTimeEnabled && allocationMXBean == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long cpuStart = cpuTimeEnabled ? threadMXBean.getCurrentThreadCpuTime() : 0;
+        long allocatedStart = allocationMXBean != null ? allocationMXBean.getCurrentThreadAllocatedBytes() : 0;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // read both counters before building tags, so the metrics' own allocations are not counted
+            long cpuNanos = cpuTimeEnabled ? threadMXBean.getCurrentThreadCpuTime() - cpuStart : 0;
+            long allocatedBytes = allocationMXBean != null
+                    ? allocationMXBean.getCurrentThreadAllocatedBytes() - allocatedStart : 0;
+            // same "UNKNOWN" as http.server.requests for requests that never reached a controller
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Tags tags = Tags.of("method", request.getMethod(), "route", route != null ? route.toString() : "UNKNOWN");
+            if (cpuTimeEnabled) {
+                cpuSummaries.withTags(tags).record(cpuNanos / 1e9);
+            }
+            if (allocationMXBean != null) {
+                allocationSummaries.withTags(tags).record(allocatedBytes);
+            }
+        }
+    }
+}
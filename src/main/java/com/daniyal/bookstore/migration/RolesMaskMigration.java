@@ -0,0 +1,52 @@
+package com.daniyal.bookstore.migration;
+
+import com.daniyal.bookstore.enums.Role;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/*
+ One-off copy of the old user_roles rows (EAGER @ElementCollection) into users.roles_mask.
+ - Runs at startup once Hibernate has added the roles_mask column (ddl-auto: update), before the
+   web server takes traffic, so nobody logs in with an empty role set.
+ - Only users with no bits set are touched, which makes it a no-op on every later start.
+ - user_roles is left in place; drop it once every environment has run this.
+*/
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class RolesMaskMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(RolesMaskMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        String bitByRole = Arrays.stream(Role.values())
+                .map(role -> "WHEN '" + role.name() + "' THEN " + role.getBit())
+                .collect(Collectors.joining(" "));
+        // user_roles holds a set, so each role appears once per user and SUM is the same as OR
+        String sql = "UPDATE users SET roles_mask = ("
+                + "SELECT COALESCE(SUM(CASE ur.roles " + bitByRole + " ELSE 0 END), 0) "
+                + "FROM user_roles ur WHERE ur.user_id = users.id) "
+                + "WHERE roles_mask = 0";
+        try {
+            int migrated = jdbcTemplate.update(sql);
+            if (migrated > 0) {
+                logger.info("Copied roles of {} users from user_roles into users.roles_mask", migrated);
+            }
+        } catch (BadSqlGrammarException e) {
+            // fresh schema: there never was a user_roles table
+            logger.debug("No user_roles table, nothing to migrate");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.daniyal.bookstore.repository;
+
+import com.daniyal.bookstore.entity.ArchivedOrder;
+import com.daniyal.bookstore.enums.PaymentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder,Long> {
+    @Query("SELECT o FROM ArchivedOrder o " +
+            "JOIN FETCH o.orderItems oi " +
+            "JOIN FETCH oi.book WHERE o.id=:orderId")
+    Optional<ArchivedOrder> findByIdWithItemsAndBooks(@Param("orderId") Long orderId);
+
+    @Query("SELECT DISTINCT o FROM ArchivedOrder o " +
+            "JOIN FETCH o.orderItems oi " +
+            "JOIN FETCH oi.book " +
+            "WHERE o.user.email=:email " +
+            "ORDER BY o.createdAt DESC")
+    List<ArchivedOrder> findAllByUserEmailWithItemsAndBooks(@Param("email") String email);
+
+    @Query("SELECT DISTINCT o FROM ArchivedOrder o " +
+            "JOIN FETCH o.orderItems oi " +
+            "JOIN FETCH oi.book " +
+            "WHERE o.user.id=:userId " +
+            "ORDER BY o.createdAt DESC")
+    List<ArchivedOrder> findAllByUserIdWithItemsAndBooks(@Param("userId") Long userId);
+
+    // delta sync whose watermark predates the archival cutoff, same shape as the hot query
+    @Query("SELECT DISTINCT o FROM ArchivedOrder o " +
+            "JOIN FETCH o.orderItems oi " +
+            "JOIN FETCH oi.book " +
+            "WHERE o.user.id=:userId AND o.updatedAt > :since " +
+            "ORDER BY o.updatedAt ASC")
+    List<ArchivedOrder> findAllByUserIdUpdatedAfterWithItemsAndBooks(@Param("userId") Long userId,
+                                                                     @Param("since") LocalDateTime since);
+
+    // archival job: copy a batch of orders / items as-is, the originals are deleted in the same transaction
+    @Modifying
+    @Query(value = """
+        INSERT INTO orders_archive
+            (id, user_id, order_status, payment_status, total_amount, created_at, updated_at, completed_at, archived_at)
+        SELECT id, user_id, order_status, payment_status, total_amount, created_at, updated_at, completed_at, :archivedAt
+        FROM orders WHERE id IN (:orderIds)
+        """, nativeQuery = true)
+    int copyOrdersToArchive(@Param("orderIds") List<Long> orderIds, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO order_items_archive (id, order_id, book_id, quantity, sub_total)
+        SELECT id, order_id, book_id, quantity, sub_total
+        FROM order_items WHERE order_id IN (:orderIds)
+        """, nativeQuery = true)
+    int copyOrderItemsToArchive(@Param("orderIds") List<Long> orderIds);
+
+    // archived orders still count towards the dashboard totals
+    @Query("SELECT o.orderStatus, COUNT(o) FROM ArchivedOrder o GROUP BY o.orderStatus")
+    List<Object[]> countGroupByOrderStatus();
+
+    @Query("SELECT o.paymentStatus, COUNT(o) FROM ArchivedOrder o GROUP BY o.paymentStatus")
+    List<Object[]> countGroupByPaymentStatus();
+
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM ArchivedOrder o WHERE o.paymentStatus = :paymentStatus")
+    BigDecimal sumTotalAmountByPaymentStatus(@Param("paymentStatus") PaymentStatus paymentStatus);
+}
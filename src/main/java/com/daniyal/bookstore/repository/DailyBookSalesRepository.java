@@ -0,0 +1,25 @@
+package com.daniyal.bookstore.repository;
+
+import com.daniyal.bookstore.dto.BookSalesResponseDTO;
+import com.daniyal.bookstore.entity.DailyBookSales;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface DailyBookSalesRepository extends JpaRepository<DailyBookSales,Long> {
+    List<DailyBookSales> findBySalesDateInAndBookIdIn(Collection<LocalDate> salesDates, Collection<Long> bookIds);
+
+    @Query("SELECT new com.daniyal.bookstore.dto.BookSalesResponseDTO(r.bookId, MAX(r.bookTitle), SUM(r.units), SUM(r.revenue)) " +
+            "FROM DailyBookSales r " +
+            "WHERE r.salesDate BETWEEN :from AND :to " +
+            "GROUP BY r.bookId " +
+            "ORDER BY SUM(r.revenue) DESC")
+    List<BookSalesResponseDTO> sumByBookBetween(@Param("from") LocalDate from,
+                                                @Param("to") LocalDate to,
+                                                Pageable pageable);
+}
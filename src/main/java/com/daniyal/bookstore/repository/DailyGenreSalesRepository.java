@@ -0,0 +1,31 @@
+package com.daniyal.bookstore.repository;
+
+import com.daniyal.bookstore.dto.DailySalesResponseDTO;
+import com.daniyal.bookstore.dto.GenreSalesResponseDTO;
+import com.daniyal.bookstore.entity.DailyGenreSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface DailyGenreSalesRepository extends JpaRepository<DailyGenreSales,Long> {
+    List<DailyGenreSales> findBySalesDateInAndGenreIn(Collection<LocalDate> salesDates, Collection<String> genres);
+
+    @Query("SELECT new com.daniyal.bookstore.dto.GenreSalesResponseDTO(r.genre, SUM(r.units), SUM(r.revenue)) " +
+            "FROM DailyGenreSales r " +
+            "WHERE r.salesDate BETWEEN :from AND :to " +
+            "GROUP BY r.genre " +
+            "ORDER BY SUM(r.revenue) DESC")
+    List<GenreSalesResponseDTO> sumByGenreBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // every sale lands in exactly one genre row, so the genre table also gives the daily totals
+    @Query("SELECT new com.daniyal.bookstore.dto.DailySalesResponseDTO(r.salesDate, SUM(r.units), SUM(r.revenue)) " +
+            "FROM DailyGenreSales r " +
+            "WHERE r.salesDate BETWEEN :from AND :to " +
+            "GROUP BY r.salesDate " +
+            "ORDER BY r.salesDate ASC")
+    List<DailySalesResponseDTO> sumByDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
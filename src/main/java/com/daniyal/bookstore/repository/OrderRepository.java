@@ -7,9 +7,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +30,24 @@ public interface OrderRepository extends JpaRepository<Order,Long> {
             "ORDER BY o.createdAt DESC")
     List<Order> findAllByUserEmailWithItemsAndBooks(@Param("email") String email);
 
+    // filters on orders.user_id directly, no join to users
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "JOIN FETCH o.orderItems oi " +
+            "JOIN FETCH oi.book " +
+            "WHERE o.user.id=:userId " +
+            "ORDER BY o.createdAt DESC")
+    List<Order> findAllByUserIdWithItemsAndBooks(@Param("userId") Long userId);
+
+    // delta sync: only orders created or updated after the client's watermark,
+    // oldest change first so the last element carries the new watermark
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "JOIN FETCH o.orderItems oi " +
+            "JOIN FETCH oi.book " +
+            "WHERE o.user.id=:userId AND o.updatedAt > :since " +
+            "ORDER BY o.updatedAt ASC")
+    List<Order> findAllByUserIdUpdatedAfterWithItemsAndBooks(@Param("userId") Long userId,
+                                                             @Param("since") LocalDateTime since);
+
     @Query("SELECT DISTINCT o FROM Order o " +
             "JOIN FETCH o.orderItems oi " +
             "JOIN FETCH oi.book " +
@@ -47,4 +69,63 @@ public interface OrderRepository extends JpaRepository<Order,Long> {
             @Param("paymentStatus") PaymentStatus paymentStatus,
             @Param("email") String email,
             Pageable pageable);
+
+    // full aggregates used to reconcile the in-memory dashboard counters
+    @Query("SELECT o.orderStatus, COUNT(o) FROM Order o GROUP BY o.orderStatus")
+    List<Object[]> countGroupByOrderStatus();
+
+    @Query("SELECT o.paymentStatus, COUNT(o) FROM Order o GROUP BY o.paymentStatus")
+    List<Object[]> countGroupByPaymentStatus();
+
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.paymentStatus = :paymentStatus")
+    BigDecimal sumTotalAmountByPaymentStatus(@Param("paymentStatus") PaymentStatus paymentStatus);
+
+    // sales rollup: next batch of completed orders after the (completedAt, id) high-water mark
+    @Query("SELECT o.id, o.completedAt FROM Order o " +
+            "WHERE o.completedAt IS NOT NULL " +
+            "AND (o.completedAt > :afterCompletedAt " +
+            "     OR (o.completedAt = :afterCompletedAt AND o.id > :afterOrderId)) " +
+            "AND o.completedAt <= :cutoff " +
+            "ORDER BY o.completedAt ASC, o.id ASC")
+    List<Object[]> findCompletedOrderKeysAfter(@Param("afterCompletedAt") LocalDateTime afterCompletedAt,
+                                               @Param("afterOrderId") Long afterOrderId,
+                                               @Param("cutoff") LocalDateTime cutoff,
+                                               Pageable pageable);
+
+    @Query("SELECT o.completedAt AS completedAt, b.id AS bookId, b.title AS bookTitle, b.genre AS genre, " +
+            "oi.quantity AS quantity, oi.subTotal AS subTotal " +
+            "FROM OrderItem oi JOIN oi.order o JOIN oi.book b " +
+            "WHERE o.id IN :orderIds")
+    List<CompletedOrderLine> findCompletedOrderLines(@Param("orderIds") List<Long> orderIds);
+
+    // orders delivered before completedAt existed; stamped once when the rollup job starts from scratch
+    @Modifying
+    @Query("UPDATE Order o SET o.completedAt = o.updatedAt " +
+            "WHERE o.orderStatus = :orderStatus AND o.completedAt IS NULL")
+    int backfillCompletedAt(@Param("orderStatus") OrderStatus orderStatus);
+
+    // archival: finished orders that have not changed for a while, oldest first
+    @Query("SELECT o.id FROM Order o " +
+            "WHERE o.orderStatus IN :orderStatuses AND o.updatedAt < :updatedBefore " +
+            "ORDER BY o.updatedAt ASC")
+    List<Long> findIdsByOrderStatusInAndUpdatedAtBefore(@Param("orderStatuses") Collection<OrderStatus> orderStatuses,
+                                                         @Param("updatedBefore") LocalDateTime updatedBefore,
+                                                         Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OrderItem oi WHERE oi.order.id IN :orderIds")
+    int deleteOrderItemsByOrderIdIn(@Param("orderIds") List<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :orderIds")
+    int deleteByIdIn(@Param("orderIds") List<Long> orderIds);
+
+    interface CompletedOrderLine {
+        LocalDateTime getCompletedAt();
+        Long getBookId();
+        String getBookTitle();
+        String getGenre();
+        Integer getQuantity();
+        BigDecimal getSubTotal();
+    }
 }
@@ -0,0 +1,24 @@
+package com.daniyal.bookstore.repository;
+
+import com.daniyal.bookstore.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken,Long> {
+    Optional<RevokedToken> findByTokenId(String tokenId);
+
+    // live rows, to rebuild the in-memory views of TokenRevocationServiceImpl
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,17 @@
+package com.daniyal.bookstore.repository;
+
+import com.daniyal.bookstore.entity.RollupCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface RollupCheckpointRepository extends JpaRepository<RollupCheckpoint,String> {
+    // row lock so two application instances never roll up the same batch twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM RollupCheckpoint c WHERE c.jobName = :jobName")
+    Optional<RollupCheckpoint> findByJobNameForUpdate(@Param("jobName") String jobName);
+}
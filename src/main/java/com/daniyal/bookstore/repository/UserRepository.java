@@ -2,10 +2,33 @@ package com.daniyal.bookstore.repository;
 
 import com.daniyal.bookstore.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User,Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    // bulk import: collisions for a whole batch in one query each
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    // tokens issued before the uid claim existed, see JwtAuthFilter
+    @Query("SELECT u.id FROM User u WHERE u.email=:email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    // rehash-on-login: replaces the stored hash without loading / dirty-checking the entity
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password=:password WHERE u.id=:id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -0,0 +1,15 @@
+package com.daniyal.bookstore.security;
+
+import java.security.Principal;
+import java.util.Set;
+
+// Principal built straight from verified JWT claims, no database involved.
+// getName() is the email, so authentication.getName() keeps working everywhere;
+// id is the users.id primary key, so services can reference the user without looking it up.
+public record AuthenticatedUser(Long id, String email, Set<String> roles) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,6 +1,11 @@
 package com.daniyal.bookstore.security;
 
+import com.daniyal.bookstore.repository.UserRepository;
+import com.daniyal.bookstore.security.handlers.SecurityRejection;
+import com.daniyal.bookstore.security.handlers.SecurityRejectionWriter;
+import com.daniyal.bookstore.service.TokenRevocationService;
 import com.daniyal.bookstore.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -12,14 +17,18 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 public class JwtAuthFilter extends OncePerRequestFilter{
@@ -35,7 +44,22 @@ public class JwtAuthFilter extends OncePerRequestFilter{
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SecurityRejectionWriter securityRejectionWriter;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    // public routes never look at the token, see PublicRoutes
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicRoutes.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -43,45 +67,66 @@ public class JwtAuthFilter extends OncePerRequestFilter{
                                     FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
 
-        String username = null;
+        Claims claims = null;
         String jwtToken = null;
 
         // Extract JWT token from header if it starts with "Bearer "
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             jwtToken = authHeader.substring(7); // Remove "Bearer " prefix
             try {
-                // Your method to extract username (validates token as well)
-                username = jwtUtil.extractUsername(jwtToken);
-
-                // Continue with Spring Security context setup here
-                // e.g. load user, set authentication in SecurityContextHolder
-
-            }catch (NegativeArraySizeException exception)
+                // parses once: signature and expiry are verified here, anything wrong throws
+                claims = jwtUtil.extractAllClaims(jwtToken);
+            }catch (NegativeArraySizeException | DecodingException exception)
             {
-                handlerExceptionResolver.resolveException(request, response, null, exception);
-                return; // Stop filter chain here, response handled above
-            } catch (ExpiredJwtException | MalformedJwtException | SignatureException
-                     | UnsupportedJwtException | IllegalArgumentException | DecodingException ex) {
-                // Delegate JWT exceptions to HandlerExceptionResolver
-                handlerExceptionResolver.resolveException(request, response, null, ex);
+                reject(request, response, SecurityRejection.BADLY_ENCODED_TOKEN);
+                return; // Stop filter chain here, response written above
+            } catch (ExpiredJwtException ex) {
+                // bad tokens are the common bot traffic: pre-serialized bodies, see SecurityRejectionWriter
+                reject(request, response, SecurityRejection.TOKEN_EXPIRED);
+                return;
+            } catch (SignatureException ex) {
+                reject(request, response, SecurityRejection.INVALID_TOKEN_SIGNATURE);
+                return;
+            } catch (MalformedJwtException ex) {
+                reject(request, response, SecurityRejection.MALFORMED_TOKEN);
+                return;
+            } catch (UnsupportedJwtException ex) {
+                reject(request, response, SecurityRejection.UNSUPPORTED_TOKEN);
+                return;
+            } catch (IllegalArgumentException ex) {
+                if (!rateLimitFilter.rejectIfLimited(request, response, RateLimitFilter.ipKey(request))) {
+                    // Delegate to HandlerExceptionResolver, the message depends on the exception
+                    handlerExceptionResolver.resolveException(request, response, null, ex);
+                }
                 return; // Stop filter chain here, response handled above
             }catch (Exception exception)
             {
-                System.out.println("Exception occured : (IN JWT AUTH FILER) : "+exception.getClass().getName());
+                // inherited commons-logging logger, goes through the async appender with the request id
+                logger.warn("Unexpected exception while verifying the JWT", exception);
+                reject(request, response, SecurityRejection.INVALID_TOKEN);
                 return;
             }
         }
 
-        // If username is found and no auth is set yet
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-            // Validate token with user details (checks signature, expiration, username)
-            if (jwtUtil.validateToken(jwtToken, userDetails.getUsername())) {
-                // Create authentication token and set details
+        /*
+ Identity and roles come from the verified claims, so an authenticated request costs no user query.
+ - The token was signed by us and is not expired, which is what the old DB-backed check proved too.
+ - Logged out tokens and tokens of disabled accounts are rejected through TokenRevocationService,
+   in-memory views in front of revoked_tokens, so the common case is still query-free.
+ - A revoked token is simply not authenticated, the entry point answers 401.
+        */
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String email = claims.getSubject();
+            if (email != null && !tokenRevocationService.isRevoked(claims)) {
+                Long userId = jwtUtil.extractUserId(claims);
+                if (userId == null) {
+                    // token from before the uid claim: one id lookup, these disappear within a token lifetime
+                    userId = userRepository.findIdByEmail(email).orElse(null);
+                }
+                AuthenticatedUser principal = new AuthenticatedUser(userId, email, extractRoles(claims));
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
+                                principal, null, toAuthorities(principal.roles()));
 
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request));
@@ -94,4 +139,29 @@ public class JwtAuthFilter extends OncePerRequestFilter{
         // Continue filter chain
         filterChain.doFilter(request, response);
     }
+
+    // a failed token never reaches RateLimitFilter: it is charged to the client IP here, 429 once over the limit
+    private void reject(HttpServletRequest request, HttpServletResponse response, SecurityRejection rejection)
+            throws IOException {
+        if (!rateLimitFilter.rejectIfLimited(request, response, RateLimitFilter.ipKey(request))) {
+            securityRejectionWriter.write(response, rejection);
+        }
+    }
+
+    private static Set<String> extractRoles(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof Collection<?> values)) {
+            return Set.of();
+        }
+        return values.stream()
+                .map(String::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    // same "ROLE_" prefix UserDetails.roles(...) used to add, so hasRole / hasAuthority rules are unchanged
+    private static List<GrantedAuthority> toAuthorities(Set<String> roles) {
+        return roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+    }
 }
@@ -0,0 +1,91 @@
+package com.daniyal.bookstore.security;
+
+import com.daniyal.bookstore.exceptions.LoginThrottledException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ Runs BCrypt for logins on a dedicated pool so a login burst cannot take every Tomcat thread.
+ - The pool is sized to the CPU count (BCrypt is pure CPU, more threads only add contention)
+   and has a bounded queue; when both are full the login is shed right away with 429 + Retry-After
+   instead of piling up request threads behind it.
+ - A login that waits longer than `security.login.timeout-ms` is shed the same way.
+ - If the password matches but the stored hash uses a weaker cost than the configured one,
+   the new hash is computed in the same task, so the caller can store it (rehash-on-login).
+*/
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            @Value("${security.login.threads:0}") int threads,
+                            @Value("${security.login.queue-capacity:64}") int queueCapacity,
+                            @Value("${security.login.timeout-ms:5000}") long timeoutMillis,
+                            @Value("${security.login.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        // 0 = one thread per available processor
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public Result verify(String rawPassword, String encodedPassword) {
+        Future<Result> future;
+        try {
+            future = executor.submit(() -> check(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            throw new LoginThrottledException("Too many login attempts, please retry shortly", retryAfterSeconds);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new LoginThrottledException("Too many login attempts, please retry shortly", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Result check(String rawPassword, String encodedPassword) {
+        if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+            return new Result(false, null);
+        }
+        String upgradedHash = passwordEncoder.upgradeEncoding(encodedPassword)
+                ? passwordEncoder.encode(rawPassword)
+                : null;
+        return new Result(true, upgradedHash);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // upgradedHash is non-null only when the password matched and the stored hash should be replaced
+    public record Result(boolean matches, String upgradedHash) {}
+}
@@ -0,0 +1,61 @@
+package com.daniyal.bookstore.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ Routes anyone can call, shared by the permitAll rules in SecurityConfig and JwtAuthFilter.
+ - JwtAuthFilter skips these entirely: no header parsing, no signature check, no revocation lookup,
+   so a stale or garbage token on login / register no longer gets the request rejected.
+ - The rate limiter still runs on them (per client IP).
+ Keep the two in sync by only adding public routes here.
+*/
+public final class PublicRoutes {
+
+    public static final String[] AUTH_ENDPOINTS = {
+            "/api/users/register",
+            "/api/users/login"
+    };
+
+    public static final String[] DOCUMENTATION_ENDPOINTS = {
+            "/swagger-ui.html",
+            "/swagger-ui/**",
+            "/v3/api-docs/**",
+            "/v3/api-docs.yaml"
+    };
+
+    // only used when the actuator shares the server port; on its own management port it is open, see SecurityConfig
+    public static final String[] MONITORING_ENDPOINTS = {
+            "/actuator/health"
+    };
+
+    private static final RequestMatcher MATCHER = buildMatcher();
+
+    private PublicRoutes() {
+    }
+
+    public static boolean matches(HttpServletRequest request) {
+        return MATCHER.matches(request);
+    }
+
+    private static RequestMatcher buildMatcher() {
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+        List<RequestMatcher> matchers = new ArrayList<>();
+        for (String path : AUTH_ENDPOINTS) {
+            matchers.add(paths.matcher(HttpMethod.POST, path));
+        }
+        for (String path : DOCUMENTATION_ENDPOINTS) {
+            matchers.add(paths.matcher(path));
+        }
+        for (String path : MONITORING_ENDPOINTS) {
+            matchers.add(paths.matcher(HttpMethod.GET, path));
+        }
+        return new OrRequestMatcher(matchers);
+    }
+}
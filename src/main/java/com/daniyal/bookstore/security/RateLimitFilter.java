@@ -0,0 +1,77 @@
+package com.daniyal.bookstore.security;
+
+import com.daniyal.bookstore.security.handlers.SecurityRejection;
+import com.daniyal.bookstore.security.handlers.SecurityRejectionWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ Runs right after JwtAuthFilter, so the client is known:
+ - authenticated requests are limited per user (email from the token), wherever they come from,
+ - anonymous ones (login, register) per client IP.
+ - Requests with a bad token never get here, JwtAuthFilter answers them itself; it charges them to the
+   same per-IP bucket through rejectIfLimited first, so forged tokens are limited too.
+ The IP is request.getRemoteAddr(); behind a proxy enable server.forward-headers-strategy so it is
+ the real client address and not the proxy's.
+ Rejections are a pre-serialized 429 body plus a Retry-After header, see SecurityRejectionWriter.
+*/
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final SecurityRejectionWriter securityRejectionWriter;
+
+    public RateLimitFilter(RateLimiter rateLimiter, SecurityRejectionWriter securityRejectionWriter) {
+        this.rateLimiter = rateLimiter;
+        this.securityRejectionWriter = securityRejectionWriter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (rejectIfLimited(request, response, clientKey(request))) {
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // takes one token for clientKey; true when the request was over the limit and the 429 has been written
+    public boolean rejectIfLimited(HttpServletRequest request, HttpServletResponse response, String clientKey)
+            throws IOException {
+        RateLimiter.GroupLimit group = rateLimiter.isEnabled()
+                ? rateLimiter.findGroup(request.getRequestURI().substring(request.getContextPath().length()))
+                : null;
+        if (group == null) {
+            return false;
+        }
+        long waitNanos = rateLimiter.tryAcquire(group, clientKey);
+        if (waitNanos <= 0) {
+            return false;
+        }
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        securityRejectionWriter.write(response, SecurityRejection.RATE_LIMITED);
+        return true;
+    }
+
+    public static String ipKey(HttpServletRequest request) {
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.email();
+        }
+        return ipKey(request);
+    }
+}
@@ -0,0 +1,35 @@
+package com.daniyal.bookstore.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// `rate-limit` section of application.yml, see RateLimiter.
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // buckets untouched (and full again) for this long are dropped
+    private long idleEvictionSeconds = 600;
+    // route groups, the first group with a matching pattern wins; requests matching none are not limited
+    private List<Group> groups = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+        private String name;
+        // Ant-style path patterns, e.g. /api/orders/**
+        private List<String> patterns = new ArrayList<>();
+        // burst size: requests allowed back to back from a full bucket
+        private int capacity;
+        // sustained rate
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,127 @@
+package com.daniyal.bookstore.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ Token buckets per (route group, client), lock-free.
+ - Each bucket is a single AtomicLong holding its "theoretical arrival time" (GCRA): the instant
+   at which the bucket would be full again. A request costs one emission interval (1 / rate);
+   it is allowed if that does not push the TAT more than `capacity` intervals past now.
+   That is exactly a token bucket of size `capacity` refilled at `refillPerSecond`, updated with one CAS.
+ - Buckets live in a ConcurrentHashMap; a bucket whose TAT is far enough in the past is full and
+   carries no information, so the eviction sweep simply drops it. Memory is bounded by active clients.
+ - Allowed / rejected counts are kept per group for the admin stats endpoint.
+*/
+@Component
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final RateLimitProperties properties;
+    private final List<GroupLimit> groups;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.groups = properties.getGroups().stream()
+                .map(GroupLimit::new)
+                .toList();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled() && !groups.isEmpty();
+    }
+
+    // null when no group covers the path
+    public GroupLimit findGroup(String path) {
+        for (GroupLimit group : groups) {
+            for (String pattern : group.patterns) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    // 0 if the request may proceed, otherwise how many nanoseconds until it would be allowed
+    public long tryAcquire(GroupLimit group, String clientKey) {
+        long now = System.nanoTime();
+        AtomicLong tat = buckets.computeIfAbsent(group.name + '|' + clientKey, key -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + group.emissionIntervalNanos;
+            long waitNanos = next - now - group.burstToleranceNanos;
+            if (waitNanos > 0) {
+                group.rejected.increment();
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                group.allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long idleBefore = System.nanoTime() - TimeUnit.SECONDS.toNanos(properties.getIdleEvictionSeconds());
+        int before = buckets.size();
+        // TAT in the past = bucket already full again, dropping it changes nothing for the client
+        buckets.values().removeIf(tat -> tat.get() - idleBefore < 0);
+        logger.debug("Rate limiter evicted {} idle buckets, {} left", before - buckets.size(), buckets.size());
+    }
+
+    public int getTrackedBuckets() {
+        return buckets.size();
+    }
+
+    public Map<String, Long> getAllowedByGroup() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        groups.forEach(group -> counts.put(group.name, group.allowed.sum()));
+        return counts;
+    }
+
+    public Map<String, Long> getRejectedByGroup() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        groups.forEach(group -> counts.put(group.name, group.rejected.sum()));
+        return counts;
+    }
+
+    public static final class GroupLimit {
+        private final String name;
+        private final List<String> patterns;
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private GroupLimit(RateLimitProperties.Group group) {
+            if (group.getCapacity() < 1 || group.getRefillPerSecond() <= 0) {
+                throw new IllegalArgumentException("rate-limit group '" + group.getName()
+                        + "' needs capacity >= 1 and refill-per-second > 0");
+            }
+            this.name = group.getName();
+            this.patterns = List.copyOf(group.getPatterns());
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / group.getRefillPerSecond());
+            this.burstToleranceNanos = emissionIntervalNanos * group.getCapacity();
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
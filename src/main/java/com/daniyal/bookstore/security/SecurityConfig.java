@@ -3,9 +3,15 @@ package com.daniyal.bookstore.security;
 import com.daniyal.bookstore.security.handlers.CustomAccessDeniedHandler;
 import com.daniyal.bookstore.security.handlers.CustomAuthenticationEntryPoint;
 import com.daniyal.bookstore.security.handlers.SecurityExceptionHandlerFilter;
+import com.daniyal.bookstore.security.handlers.SecurityRejectionWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
@@ -40,6 +46,23 @@ public class SecurityConfig {
         return new JwtAuthFilter(handlerExceptionResolver);
     }
     @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, SecurityRejectionWriter securityRejectionWriter) {
+        return new RateLimitFilter(rateLimiter, securityRejectionWriter);
+    }
+    // Filter beans are also picked up as servlet filters by Spring Boot; they belong to the security chain only
+    @Bean
+    public FilterRegistrationBean<JwtAuthFilter> jwtAuthFilterRegistration(JwtAuthFilter jwtAuthFilter) {
+        FilterRegistrationBean<JwtAuthFilter> registration = new FilterRegistrationBean<>(jwtAuthFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    @Bean
     public SecurityExceptionHandlerFilter securityExceptionHandlerFilter() {
         return new SecurityExceptionHandlerFilter();
     }
@@ -54,9 +77,10 @@ public class SecurityConfig {
 
 
     // Password encoder bean for hashing passwords
+    // raising the strength is safe: existing hashes still verify and are rehashed on next login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     // Configure the AuthenticationManager with the custom UserDetailsService and PasswordEncoder
@@ -68,7 +92,13 @@ public class SecurityConfig {
 
     // This bean defines the security filter chain with all your rules
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, RateLimitFilter rateLimitFilter,
+                                                   Environment environment) throws Exception {
+        // on its own port (management.server.port) the actuator is only reachable inside the cluster and stays
+        // open for the Prometheus scrape; sharing the server port, everything but health needs an admin
+        if (ManagementPortType.get(environment) == ManagementPortType.DIFFERENT) {
+            http.authorizeHttpRequests(auth -> auth.requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll());
+        }
 
         http
                 // Disable CSRF protection (needed for stateless JWT APIs)
@@ -77,15 +107,14 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 // Configure endpoint authorization rules
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(HttpMethod.POST, "/api/users/register", "/api/users/login").permitAll()
+                        .requestMatchers(HttpMethod.POST, PublicRoutes.AUTH_ENDPOINTS).permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/books/bestsellers").hasAnyRole("ADMIN", "CUSTOMER")
                         .requestMatchers("/api/books/**","/api/authors/**").hasRole("ADMIN")
                         .requestMatchers("/api/orders/**").hasAnyRole("ADMIN", "CUSTOMER")
-                        .requestMatchers(
-                                "/swagger-ui.html",
-                                "/swagger-ui/**",
-                                "/v3/api-docs/**",
-                                "/v3/api-docs.yaml"
-                        ).permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers(PublicRoutes.DOCUMENTATION_ENDPOINTS).permitAll()
+                        .requestMatchers(HttpMethod.GET, PublicRoutes.MONITORING_ENDPOINTS).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(exception -> exception
@@ -95,7 +124,9 @@ public class SecurityConfig {
                 // Set your custom UserDetailsService and password encoder (for authentication)
                 .userDetailsService(customUserDetailsService)
                 // Add your JWT filter before Spring Security's UsernamePasswordAuthenticationFilter
-                .addFilterBefore(jwtAuthFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter(), UsernamePasswordAuthenticationFilter.class)
+                // Rate limit once the caller is known: per user when authenticated, per IP otherwise
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
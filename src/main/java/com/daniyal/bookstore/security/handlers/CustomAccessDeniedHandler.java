@@ -1,38 +1,26 @@
 package com.daniyal.bookstore.security.handlers;
 
-import com.daniyal.bookstore.exceptions.ApiErrorResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.util.HashMap;
 
 @Component
+@RequiredArgsConstructor
 public class CustomAccessDeniedHandler implements AccessDeniedHandler {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SecurityRejectionWriter securityRejectionWriter;
 
     @Override
     public void handle(
             HttpServletRequest request,
             HttpServletResponse response,
             AccessDeniedException accessDeniedException) throws IOException {
-
-        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-        response.setContentType("application/json");
-
-        ApiErrorResponse errorResponse = ApiErrorResponse.builder()
-                .errorCode("ERR_AUTH_FORBIDDEN")
-                .message("You do not have permission to access this resource")
-                .errors(new HashMap<>())
-                .build();
-
-        String jsonResponse = objectMapper.writeValueAsString(errorResponse);
-        response.getWriter().write(jsonResponse);
+        // body is pre-serialized, see SecurityRejectionWriter
+        securityRejectionWriter.write(response, SecurityRejection.FORBIDDEN);
     }
 }
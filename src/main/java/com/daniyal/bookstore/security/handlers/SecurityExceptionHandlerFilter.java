@@ -46,7 +46,7 @@ public class SecurityExceptionHandlerFilter extends OncePerRequestFilter {
             handlerExceptionResolver.resolveException(request, response, null, ex);
         }catch(Exception ex)
         {
-            System.out.println(ex.getClass().getName());
+            logger.error("Unhandled exception in the filter chain", ex);
         }
         // Catch other exceptions (e.g., AccessDeniedException) as needed
     }
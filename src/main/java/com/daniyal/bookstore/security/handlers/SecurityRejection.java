@@ -0,0 +1,40 @@
+package com.daniyal.bookstore.security.handlers;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+
+// Every way the security layer turns a request away before it reaches a controller.
+// errorCode / message are the same the GlobalExceptionHandler used to produce for these cases.
+@Getter
+public enum SecurityRejection {
+    AUTH_REQUIRED(HttpServletResponse.SC_UNAUTHORIZED, "AUTH_REQUIRED",
+            "Full authentication is required to access this resource"),
+    UNAUTHORIZED(HttpServletResponse.SC_UNAUTHORIZED, "ERR_AUTH_UNAUTHORIZED",
+            "Authentication is required"),
+    TOKEN_EXPIRED(HttpServletResponse.SC_UNAUTHORIZED, "TOKEN_EXPIRED",
+            "JWT token has expired"),
+    INVALID_TOKEN_SIGNATURE(HttpServletResponse.SC_UNAUTHORIZED, "INVALID_TOKEN_SIGNATURE",
+            "JWT token signature is invalid"),
+    MALFORMED_TOKEN(HttpServletResponse.SC_UNAUTHORIZED, "MALFORMED_TOKEN",
+            "JWT token is malformed"),
+    BADLY_ENCODED_TOKEN(HttpServletResponse.SC_UNAUTHORIZED, "MALFORMED_TOKEN",
+            "JWT token is malformed or improperly encoded"),
+    UNSUPPORTED_TOKEN(HttpServletResponse.SC_UNAUTHORIZED, "UNSUPPORTED_TOKEN",
+            "JWT token is unsupported"),
+    INVALID_TOKEN(HttpServletResponse.SC_UNAUTHORIZED, "INVALID_TOKEN",
+            "JWT token is invalid or missing"),
+    FORBIDDEN(HttpServletResponse.SC_FORBIDDEN, "ERR_AUTH_FORBIDDEN",
+            "You do not have permission to access this resource"),
+    RATE_LIMITED(429, "RATE_LIMIT_EXCEEDED",
+            "Too many requests, please slow down");
+
+    private final int status;
+    private final String errorCode;
+    private final String message;
+
+    SecurityRejection(int status, String errorCode, String message) {
+        this.status = status;
+        this.errorCode = errorCode;
+        this.message = message;
+    }
+}
@@ -0,0 +1,55 @@
+package com.daniyal.bookstore.security.handlers;
+
+import com.daniyal.bookstore.exceptions.ApiErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ Writes the 401 / 403 / 429 responses of the security layer.
+ - The bodies never change, so each one is serialized once at startup (same ApiErrorResponse JSON
+   as before) and written as raw bytes: a rejection allocates no ObjectMapper, DTO or String.
+ - The only per-request value, Retry-After on 429, is a header and is set by the caller.
+ - Each write is counted per reason, so a flood of bad tokens or 403s is visible on the admin stats.
+*/
+@Component
+public class SecurityRejectionWriter {
+
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    private final Map<SecurityRejection, byte[]> bodies = new EnumMap<>(SecurityRejection.class);
+    private final Map<SecurityRejection, LongAdder> counters = new EnumMap<>(SecurityRejection.class);
+
+    public SecurityRejectionWriter(ObjectMapper objectMapper) throws JsonProcessingException {
+        for (SecurityRejection rejection : SecurityRejection.values()) {
+            bodies.put(rejection, objectMapper.writeValueAsBytes(ApiErrorResponse.builder()
+                    .message(rejection.getMessage())
+                    .errorCode(rejection.getErrorCode())
+                    .errors(Map.of())
+                    .build()));
+            counters.put(rejection, new LongAdder());
+        }
+    }
+
+    public void write(HttpServletResponse response, SecurityRejection rejection) throws IOException {
+        counters.get(rejection).increment();
+        byte[] body = bodies.get(rejection);
+        response.setStatus(rejection.getStatus());
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    public Map<String, Long> getRejectionCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counters.forEach((rejection, counter) -> counts.put(rejection.name(), counter.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,13 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.BestsellerResponseDTO;
+import com.daniyal.bookstore.enums.BestsellerWindow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BestsellerService {
+    void recordSale(Long bookId, String title, int quantity, LocalDateTime soldAt);
+    void recordCancellation(Long bookId, int quantity, LocalDateTime soldAt);
+    List<BestsellerResponseDTO> getBestsellers(BestsellerWindow window, int limit);
+}
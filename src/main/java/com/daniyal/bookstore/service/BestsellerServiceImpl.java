@@ -0,0 +1,140 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.BestsellerResponseDTO;
+import com.daniyal.bookstore.enums.BestsellerWindow;
+import com.daniyal.bookstore.util.SpaceSavingSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.daniyal.bookstore.util.TransactionUtils.afterCommit;
+
+/*
+ Sliding-window best sellers, kept entirely in memory.
+ - Time is cut into buckets (1 hour by default) held in a ring long enough for the largest window;
+   every bucket is a bounded Space-Saving sketch, so memory does not grow with the catalog size.
+ - placeOrder / cancelOrder feed the sketches after their transaction commits.
+ - A background refresh merges the buckets of each window into a ready-made ranking;
+   reads only pick up that immutable list, so the endpoint never touches the database.
+ Windows are bucket-aligned (the 24h window is the current bucket plus the 23 before it) and
+ rankings are at most one refresh interval stale. The sketches start empty after a restart.
+*/
+@Service
+public class BestsellerServiceImpl implements BestsellerService {
+
+    private final long bucketMillis;
+    private final int sketchCapacity;
+    private final int maxResults;
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final Map<Long, String> titles = new ConcurrentHashMap<>();
+
+    private volatile Map<BestsellerWindow, List<BestsellerResponseDTO>> rankings = Map.of();
+
+    public BestsellerServiceImpl(@Value("${bestsellers.bucket-minutes:60}") long bucketMinutes,
+                                 @Value("${bestsellers.sketch-capacity:200}") int sketchCapacity,
+                                 @Value("${bestsellers.max-results:100}") int maxResults) {
+        this.bucketMillis = bucketMinutes * 60_000L;
+        this.sketchCapacity = sketchCapacity;
+        this.maxResults = maxResults;
+        long longestWindow = Arrays.stream(BestsellerWindow.values())
+                .mapToLong(window -> window.getLength().toMillis())
+                .max()
+                .orElseThrow();
+        this.buckets = new AtomicReferenceArray<>((int) Math.ceil((double) longestWindow / bucketMillis));
+    }
+
+    @Override
+    public void recordSale(Long bookId, String title, int quantity, LocalDateTime soldAt) {
+        long bucketIndex = bucketIndex(soldAt);
+        afterCommit(() -> {
+            Bucket bucket = bucketFor(bucketIndex, true);
+            if (bucket != null) {
+                bucket.sketch.add(bookId, quantity);
+                titles.put(bookId, title);
+            }
+        });
+    }
+
+    @Override
+    public void recordCancellation(Long bookId, int quantity, LocalDateTime soldAt) {
+        long bucketIndex = bucketIndex(soldAt);
+        afterCommit(() -> {
+            // the sale is only still counted if its bucket has not rotated out of the ring
+            Bucket bucket = bucketFor(bucketIndex, false);
+            if (bucket != null) {
+                bucket.sketch.subtract(bookId, quantity);
+            }
+        });
+    }
+
+    @Override
+    public List<BestsellerResponseDTO> getBestsellers(BestsellerWindow window, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("'limit' must be at least 1");
+        }
+        List<BestsellerResponseDTO> ranking = rankings.getOrDefault(window, List.of());
+        return ranking.subList(0, Math.min(limit, ranking.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${bestsellers.refresh-interval-ms:2000}")
+    public void refreshRankings() {
+        long currentIndex = bucketIndex(LocalDateTime.now());
+        Map<BestsellerWindow, List<BestsellerResponseDTO>> refreshed = new EnumMap<>(BestsellerWindow.class);
+        Set<Long> trackedBooks = new HashSet<>();
+
+        for (BestsellerWindow window : BestsellerWindow.values()) {
+            long bucketsInWindow = window.getLength().toMillis() / bucketMillis;
+            Map<Long, Long> unitsByBook = new HashMap<>();
+            for (int slot = 0; slot < buckets.length(); slot++) {
+                Bucket bucket = buckets.get(slot);
+                if (bucket != null && bucket.index <= currentIndex && bucket.index > currentIndex - bucketsInWindow) {
+                    bucket.sketch.mergeCountsInto(unitsByBook);
+                }
+            }
+            trackedBooks.addAll(unitsByBook.keySet());
+            refreshed.put(window, unitsByBook.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                    .limit(maxResults)
+                    .map(entry -> BestsellerResponseDTO.builder()
+                            .bookId(entry.getKey())
+                            .title(titles.get(entry.getKey()))
+                            .unitsSold(entry.getValue())
+                            .build())
+                    .toList());
+        }
+        rankings = Collections.unmodifiableMap(refreshed);
+        // titles only need to live as long as some bucket still tracks the book
+        titles.keySet().retainAll(trackedBooks);
+    }
+
+    private Bucket bucketFor(long bucketIndex, boolean create) {
+        int slot = (int) Math.floorMod(bucketIndex, (long) buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.index == bucketIndex) {
+                return bucket;
+            }
+            // slot already reused by a newer bucket: the sale is older than the ring
+            if (!create || (bucket != null && bucket.index > bucketIndex)) {
+                return null;
+            }
+            Bucket fresh = new Bucket(bucketIndex, new SpaceSavingSketch<>(sketchCapacity));
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private long bucketIndex(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / bucketMillis;
+    }
+
+    private record Bucket(long index, SpaceSavingSketch<Long> sketch) {}
+}
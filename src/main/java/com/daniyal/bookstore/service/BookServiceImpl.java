@@ -6,9 +6,11 @@ import com.daniyal.bookstore.dto.BookUpdateDTO;
 import com.daniyal.bookstore.entity.Author;
 import com.daniyal.bookstore.entity.Book;
 import com.daniyal.bookstore.exceptions.*;
+import com.daniyal.bookstore.jfr.BookSearchEvent;
 import com.daniyal.bookstore.repository.AuthorRepository;
 import com.daniyal.bookstore.repository.BookRepository;
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +21,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "bookstore.service")
 public class BookServiceImpl implements BookService{
 
     @Autowired
@@ -123,6 +126,7 @@ public class BookServiceImpl implements BookService{
                 .build();
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<BookResponseDTO> getAllBooks() {
         List<Book> books=bookRepository.findAll();
@@ -145,6 +149,7 @@ public class BookServiceImpl implements BookService{
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<BookResponseDTO> getAllBooks(Pageable pageable) {
         return bookRepository.findAll(pageable)
@@ -172,8 +177,21 @@ public class BookServiceImpl implements BookService{
         String a = (author == null || author.isBlank()) ? null : author.trim();
         String g = (genre == null || genre.isBlank()) ? null : genre.trim();
 
-        return bookRepository.searchBooksMultiAuthor(t, a, g, pageable)
+        BookSearchEvent event = new BookSearchEvent();
+        event.begin();
+        Page<BookResponseDTO> page = bookRepository.searchBooksMultiAuthor(t, a, g, pageable)
                 .map(this::toBookResponseDTO);
+        event.end();
+        if (event.shouldCommit()) {
+            event.title = t;
+            event.author = a;
+            event.genre = g;
+            event.page = pageable.getPageNumber();
+            event.pageSize = pageable.getPageSize();
+            event.totalMatches = page.getTotalElements();
+            event.commit();
+        }
+        return page;
     }
 
     @Override
@@ -359,7 +377,8 @@ public class BookServiceImpl implements BookService{
         bookRepository.deleteById(id);
     }
 
-    private BookResponseDTO toBookResponseDTO(Book book)
+    // package-private for MappingBenchmark (src/jmh)
+    BookResponseDTO toBookResponseDTO(Book book)
     {
         return BookResponseDTO.builder()
             .id(book.getId())
@@ -0,0 +1,16 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.RecordingRequestDTO;
+import com.daniyal.bookstore.dto.RecordingResponseDTO;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface FlightRecorderService {
+    RecordingResponseDTO startRecording(RecordingRequestDTO request);
+    List<RecordingResponseDTO> listRecordings();
+    RecordingResponseDTO stopRecording(long id);
+    // snapshot of the recording in a temporary .jfr file, the caller deletes it
+    Path dumpRecording(long id);
+    void closeRecording(long id);
+}
@@ -0,0 +1,181 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.RecordingRequestDTO;
+import com.daniyal.bookstore.dto.RecordingResponseDTO;
+import com.daniyal.bookstore.exceptions.RecordingNotFoundException;
+import com.daniyal.bookstore.jfr.*;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/*
+ Flight Recorder control for the admin endpoints, on top of jdk.jfr.
+ - With jfr.continuous.enabled a recording runs from startup with the JDK "default" settings (about 1%
+   overhead), bounded by max age / size on disk. A dump of it covers the last minutes before an incident.
+ - The application events (com.daniyal.bookstore.jfr) are enabled in every recording.
+ - Recordings started elsewhere (jcmd JFR.start, JMC) are listed and can be controlled too.
+*/
+@Service
+public class FlightRecorderServiceImpl implements FlightRecorderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderServiceImpl.class);
+    static final String CONTINUOUS_RECORDING = "bookstore-continuous";
+    private static final List<Class<? extends Event>> APPLICATION_EVENTS = List.of(
+            OrderPlacementEvent.class, StockDecrementEvent.class, PaymentEvent.class,
+            JwtVerificationEvent.class, BookSearchEvent.class);
+
+    private final boolean continuousEnabled;
+    private final int continuousMaxAgeMinutes;
+    private final int continuousMaxSizeMb;
+
+    public FlightRecorderServiceImpl(@Value("${jfr.continuous.enabled:true}") boolean continuousEnabled,
+                                     @Value("${jfr.continuous.max-age-minutes:30}") int continuousMaxAgeMinutes,
+                                     @Value("${jfr.continuous.max-size-mb:200}") int continuousMaxSizeMb) {
+        this.continuousEnabled = continuousEnabled;
+        this.continuousMaxAgeMinutes = continuousMaxAgeMinutes;
+        this.continuousMaxSizeMb = continuousMaxSizeMb;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuousRecording() {
+        if (!continuousEnabled) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            logger.warn("Flight Recorder is not available in this JVM, continuous recording not started");
+            return;
+        }
+        startRecording(RecordingRequestDTO.builder()
+                .name(CONTINUOUS_RECORDING)
+                .settings("default")
+                .maxAgeMinutes(continuousMaxAgeMinutes)
+                .maxSizeMb(continuousMaxSizeMb)
+                .build());
+    }
+
+    @Override
+    public RecordingResponseDTO startRecording(RecordingRequestDTO request) {
+        String settings = request.getSettings() != null ? request.getSettings() : "default";
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot read JFR settings '" + settings + "'", e);
+        }
+        Recording recording = new Recording(configuration);
+        recording.setName(request.getName() != null ? request.getName() : "bookstore-" + Instant.now());
+        // no threshold: the events are cheap and a 1 ms cut-off would hide the cached JWT checks
+        APPLICATION_EVENTS.forEach(type -> recording.enable(type).withoutThreshold());
+        recording.setToDisk(true);
+        if (request.getDurationMinutes() != null) {
+            recording.setDuration(Duration.ofMinutes(request.getDurationMinutes()));
+        }
+        if (request.getMaxAgeMinutes() != null) {
+            recording.setMaxAge(Duration.ofMinutes(request.getMaxAgeMinutes()));
+        }
+        if (request.getMaxSizeMb() != null) {
+            recording.setMaxSize(request.getMaxSizeMb() * 1024L * 1024L);
+        }
+        recording.start();
+        logger.info("Started JFR recording {} '{}' with {} settings", recording.getId(), recording.getName(), settings);
+        return toRecordingResponseDTO(recording);
+    }
+
+    @Override
+    public List<RecordingResponseDTO> listRecordings() {
+        if (!FlightRecorder.isAvailable()) {
+            return List.of();
+        }
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .map(this::toRecordingResponseDTO)
+                .toList();
+    }
+
+    @Override
+    public RecordingResponseDTO stopRecording(long id) {
+        Recording recording = findRecording(id);
+        // stopping twice is not an error for the caller, the recording is stopped either way
+        if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+            recording.stop();
+            logger.info("Stopped JFR recording {} '{}'", id, recording.getName());
+        }
+        return toRecordingResponseDTO(recording);
+    }
+
+    @Override
+    public Path dumpRecording(long id) {
+        Recording recording = findRecording(id);
+        Path file = null;
+        try {
+            file = Files.createTempFile("bookstore-recording-" + id + "-", ".jfr");
+            // a running recording is copied as-is and keeps running
+            recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(file, e);
+            throw new UncheckedIOException("Could not dump JFR recording " + id, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(file, e);
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path file, Exception cause) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    @Override
+    public void closeRecording(long id) {
+        Recording recording = findRecording(id);
+        recording.close();
+        logger.info("Closed JFR recording {} '{}'", id, recording.getName());
+    }
+
+    private Recording findRecording(long id) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new RecordingNotFoundException("Flight Recorder is not available in this JVM");
+        }
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> recording.getId() == id)
+                .findFirst()
+                .orElseThrow(() -> new RecordingNotFoundException("Recording not found with id " + id));
+    }
+
+    private RecordingResponseDTO toRecordingResponseDTO(Recording recording) {
+        return RecordingResponseDTO.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime() != null ? recording.getStartTime().toString() : null)
+                .stopTime(recording.getStopTime() != null ? recording.getStopTime().toString() : null)
+                .durationSeconds(recording.getDuration() != null ? recording.getDuration().toSeconds() : null)
+                .maxAgeSeconds(recording.getMaxAge() != null ? recording.getMaxAge().toSeconds() : null)
+                .maxSizeBytes(recording.getMaxSize())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import com.daniyal.bookstore.dto.PaymentResponseDTO;
 import com.daniyal.bookstore.entity.Order;
 import com.daniyal.bookstore.enums.PaymentStatus;
 import com.daniyal.bookstore.exceptions.OrderNotFoundException;
+import com.daniyal.bookstore.jfr.PaymentEvent;
 import com.daniyal.bookstore.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,10 +16,33 @@ import org.springframework.transaction.annotation.Transactional;
 public class MockPaymentService implements PaymentService {
 
     private final OrderRepository orderRepository;
+    private final OrderStatsService orderStatsService;
 
     @Override
     @Transactional
     public PaymentResponseDTO processPayment(PaymentRequestDTO paymentRequest) {
+        PaymentEvent event = new PaymentEvent();
+        event.begin();
+        String outcome = null;
+        try {
+            PaymentResponseDTO response = pay(paymentRequest);
+            outcome = response.isSuccess() ? "PAID" : "ALREADY_PAID";
+            return response;
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.orderId = paymentRequest.getOrderId() != null ? paymentRequest.getOrderId() : 0;
+                event.amount = paymentRequest.getAmount() != null ? paymentRequest.getAmount().doubleValue() : 0;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private PaymentResponseDTO pay(PaymentRequestDTO paymentRequest) {
         Order order = orderRepository.findById(paymentRequest.getOrderId())
                 .orElseThrow(() -> new OrderNotFoundException("Order not found"));
 
@@ -33,6 +57,7 @@ public class MockPaymentService implements PaymentService {
         // Mock payment always succeeds
         order.setPaymentStatus(PaymentStatus.PAID);
         orderRepository.save(order);
+        orderStatsService.recordPaymentStatusChange(PaymentStatus.UNPAID, PaymentStatus.PAID, order.getTotalAmount());
 
         return PaymentResponseDTO.builder()
                 .success(true)
@@ -0,0 +1,5 @@
+package com.daniyal.bookstore.service;
+
+public interface OrderArchivalService {
+    int archiveFinishedOrders();
+}
@@ -0,0 +1,80 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.enums.OrderStatus;
+import com.daniyal.bookstore.repository.ArchivedOrderRepository;
+import com.daniyal.bookstore.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/*
+ Moves finished orders out of the hot orders / order_items tables into orders_archive / order_items_archive.
+ - Only DELIVERED and CANCELLED orders that have not been updated for `orders.archival.min-age-days` qualify,
+   so anything a customer or admin can still act on stays in the hot tables.
+ - Each batch is copied with INSERT ... SELECT and then deleted, in one transaction: an order is either
+   in the hot table or in the archive, never both and never neither. Ids are kept as they are.
+ - getOrderById / listOrdersForUser fall back to the archive, so does delta sync when the client's
+   watermark is older than min-age-days; admin listings and the payment flow only see the hot table.
+   Archived orders are history and are never modified.
+ - min-age-days must stay well above the sales rollup settle time, the rollup only reads the hot table.
+*/
+@Service
+@RequiredArgsConstructor
+public class OrderArchivalServiceImpl implements OrderArchivalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchivalServiceImpl.class);
+    private static final Set<OrderStatus> FINISHED_STATUSES = Set.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${orders.archival.min-age-days:90}")
+    private long minAgeDays;
+    @Value("${orders.archival.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${orders.archival.interval-ms:3600000}",
+            initialDelayString = "${orders.archival.initial-delay-ms:300000}")
+    public void scheduledArchival() {
+        int orders = archiveFinishedOrders();
+        if (orders > 0) {
+            logger.info("Order archival moved {} orders to the archive", orders);
+        }
+    }
+
+    @Override
+    public int archiveFinishedOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveNextBatch(cutoff));
+            total += archived;
+        } while (archived == batchSize);
+        return total;
+    }
+
+    private int archiveNextBatch(LocalDateTime cutoff) {
+        List<Long> orderIds = orderRepository.findIdsByOrderStatusInAndUpdatedAtBefore(
+                FINISHED_STATUSES, cutoff, PageRequest.of(0, batchSize));
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        // archive items reference archive orders and hot items hot orders: parents are copied first, deleted last
+        archivedOrderRepository.copyOrdersToArchive(orderIds, LocalDateTime.now());
+        archivedOrderRepository.copyOrderItemsToArchive(orderIds);
+        orderRepository.deleteOrderItemsByOrderIdIn(orderIds);
+        orderRepository.deleteByIdIn(orderIds);
+        return orderIds.size();
+    }
+}
@@ -2,18 +2,21 @@ package com.daniyal.bookstore.service;
 
 import com.daniyal.bookstore.dto.OrderRequestDTO;
 import com.daniyal.bookstore.dto.OrderResponseDTO;
+import com.daniyal.bookstore.dto.OrderSyncResponseDTO;
 import com.daniyal.bookstore.enums.OrderStatus;
 import com.daniyal.bookstore.enums.PaymentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderService {
-    OrderResponseDTO placeOrder(OrderRequestDTO dto, String email);
-    OrderResponseDTO getOrderById(Long orderId, String email, boolean isAdmin);
-    List<OrderResponseDTO> listOrdersForUser(String targetEmail,String loggedInEmail,boolean isAdmin);
+    OrderResponseDTO placeOrder(OrderRequestDTO dto, Long userId);
+    OrderResponseDTO getOrderById(Long orderId, Long userId, boolean isAdmin);
+    List<OrderResponseDTO> listOrdersForUser(String targetEmail,Long loggedInUserId,boolean isAdmin);
+    OrderSyncResponseDTO listOrdersForUserSince(Long userId, LocalDateTime since);
     List<OrderResponseDTO> listAllOrders();
 
     Page<OrderResponseDTO> listAllOrders(Pageable pageable);
@@ -21,7 +24,7 @@ public interface OrderService {
     Page<OrderResponseDTO> filterOrders(
             OrderStatus orderStatus, PaymentStatus paymentStatus, String email, Pageable pageable);
 
-    void cancelOrder(Long orderId, String email, boolean isAdmin);
+    void cancelOrder(Long orderId, Long userId, boolean isAdmin);
     void updateOrderStatus(Long orderId, OrderStatus status);
 }
 
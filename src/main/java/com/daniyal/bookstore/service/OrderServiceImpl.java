@@ -5,9 +5,16 @@ import com.daniyal.bookstore.entity.*;
 import com.daniyal.bookstore.enums.OrderStatus;
 import com.daniyal.bookstore.enums.PaymentStatus;
 import com.daniyal.bookstore.exceptions.*;
+import com.daniyal.bookstore.jfr.OrderPlacementEvent;
+import com.daniyal.bookstore.jfr.StockDecrementEvent;
+import com.daniyal.bookstore.repository.ArchivedOrderRepository;
 import com.daniyal.bookstore.repository.BookRepository;
 import com.daniyal.bookstore.repository.OrderRepository;
 import com.daniyal.bookstore.repository.UserRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -15,31 +22,65 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "bookstore.service")
 public class OrderServiceImpl implements OrderService {
 
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
     private final OrderRepository orderRepository;
-
-
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderStatsService orderStatsService;
+    private final BestsellerService bestsellerService;
+    private final ObservationRegistry observationRegistry;
+
+    // how far behind "now" the delta sync watermark is held back, see listOrdersForUserSince
+    @Value("${orders.sync.safety-lag-seconds:5}")
+    private long syncSafetyLagSeconds;
+    // orders older than this may have moved to the archive, see OrderArchivalServiceImpl
+    @Value("${orders.archival.min-age-days:90}")
+    private long archivalMinAgeDays;
 
     @Override
     @Transactional
-    public OrderResponseDTO placeOrder(OrderRequestDTO orderRequest, String email) {
+    public OrderResponseDTO placeOrder(OrderRequestDTO orderRequest, Long userId) {
+        OrderPlacementEvent event = new OrderPlacementEvent();
+        event.begin();
+        String outcome = "PLACED";
+        OrderResponseDTO response = null;
+        try {
+            response = createOrder(orderRequest, userId);
+            return response;
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.userId = userId;
+                event.orderId = response != null ? response.getId() : 0;
+                event.lines = response != null ? response.getOrderItems().size() : 0;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
 
-        // lookup user
+    private OrderResponseDTO createOrder(OrderRequestDTO orderRequest, Long userId) {
 
-        User user=userRepository.findByEmail(email).
-                orElseThrow(()-> new UserNotFoundException("User not found"));
+        // the id comes from the token, a reference is enough to set orders.user_id (no SELECT)
+        User user=userRepository.getReferenceById(userId);
 
         /* ✅ Optimization:
  Instead of calling bookRepository.findById(...) inside the loop for each order item
@@ -61,42 +102,56 @@ public class OrderServiceImpl implements OrderService {
                 .collect(Collectors.toMap(Book::getId, Function.identity()));
 
         // Group orderItems by bookId and sum quantities
-        Map<Long, Integer> combinedOrderItems = orderRequest.getOrderItems().stream()
-                .collect(Collectors.groupingBy(
-                        OrderItemRequestDTO::getBookId,
-                        Collectors.summingInt(OrderItemRequestDTO::getQuantity)
-                ));
+        Map<Long, Integer> combinedOrderItems = combineOrderItems(orderRequest.getOrderItems());
 
         // prepare OrderItem, validate each book and quantity
         List<OrderItem> orderItems=new ArrayList<>();
         BigDecimal totalAmount=BigDecimal.ZERO;
         List<OrderItemRequestDTO> requestOrderItems=orderRequest.getOrderItems();
-        for(Map.Entry<Long, Integer> entry : combinedOrderItems.entrySet())
-        {
-            Long bookId = entry.getKey();
-            int totalQuantity = entry.getValue();
+        // own span: in-memory work between the book fetch and the insert, shows up as a gap otherwise
+        Observation stockCheck = Observation.createNotStarted("bookstore.order.stock-check", observationRegistry)
+                .contextualName("order stock check")
+                .start();
+        try (Observation.Scope scope = stockCheck.openScope()) {
+            for(Map.Entry<Long, Integer> entry : combinedOrderItems.entrySet())
+            {
+                Long bookId = entry.getKey();
+                int totalQuantity = entry.getValue();
+
+                Book book = bookMap.get(bookId);
+                if (book == null) {
+                    throw new BookNotFoundException("Book not found with id " + bookId);
+                }
+                if (book.getQuantity() < totalQuantity) {
+                    throw new OrderOutOfStockException("Not enough stock for book : " + book.getTitle());
+                }
+
+                StockDecrementEvent stockEvent = new StockDecrementEvent();
+                if (stockEvent.isEnabled()) {
+                    stockEvent.bookId = bookId;
+                    stockEvent.quantity = totalQuantity;
+                    stockEvent.stockBefore = book.getQuantity();
+                    stockEvent.commit();
+                }
+                book.setQuantity(book.getQuantity() - totalQuantity);
+
+                BigDecimal itemSubTotal = book.getPrice().multiply(BigDecimal.valueOf(totalQuantity));
+
+                OrderItem orderItem = OrderItem.builder()
+                        .book(book)
+                        .quantity(totalQuantity)
+                        .subTotal(itemSubTotal)
+                        .build();
+
+                orderItems.add(orderItem);
+                totalAmount = totalAmount.add(itemSubTotal);
 
-            Book book = bookMap.get(bookId);
-            if (book == null) {
-                throw new BookNotFoundException("Book not found with id " + bookId);
             }
-            if (book.getQuantity() < totalQuantity) {
-                throw new OrderOutOfStockException("Not enough stock for book : " + book.getTitle());
-            }
-
-            book.setQuantity(book.getQuantity() - totalQuantity);
-
-            BigDecimal itemSubTotal = book.getPrice().multiply(BigDecimal.valueOf(totalQuantity));
-
-            OrderItem orderItem = OrderItem.builder()
-                    .book(book)
-                    .quantity(totalQuantity)
-                    .subTotal(itemSubTotal)
-                    .build();
-
-            orderItems.add(orderItem);
-            totalAmount = totalAmount.add(itemSubTotal);
-
+        } catch (RuntimeException e) {
+            stockCheck.error(e);
+            throw e;
+        } finally {
+            stockCheck.stop();
         }
 
         // create OrderEntity link item & user
@@ -111,6 +166,11 @@ public class OrderServiceImpl implements OrderService {
 
         // persist order (cascade items)
          Order savedOrder=orderRepository.save(order);
+         // flush here rather than at commit so the stock UPDATEs are timed inside placeOrder's span
+         orderRepository.flush();
+         orderStatsService.recordOrderPlaced(savedOrder.getOrderStatus(), savedOrder.getPaymentStatus());
+         savedOrder.getOrderItems().forEach(item->bestsellerService.recordSale(
+                 item.getBook().getId(), item.getBook().getTitle(), item.getQuantity(), savedOrder.getCreatedAt()));
 
          return toOrderResponseDTO(savedOrder);
 
@@ -119,14 +179,26 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional
-    public OrderResponseDTO getOrderById(Long orderId, String email, boolean isAdmin) {
+    public OrderResponseDTO getOrderById(Long orderId, Long userId, boolean isAdmin) {
         // Optimized query: fetches Order by ID along with its OrderItems and related Books in one SQL statement
         // Prevents N+1 query problem and ensures all details needed for the response DTO are loaded eagerly
 
-        Order order= orderRepository.findByIdWithItemsAndBooks(orderId)
-                .orElseThrow(()->(new OrderNotFoundException("Order not found")));
+        Optional<Order> hotOrder= orderRepository.findByIdWithItemsAndBooks(orderId);
+        if(hotOrder.isEmpty())
+        {
+            // not in the hot table: it may have been moved to orders_archive by OrderArchivalService
+            ArchivedOrder archivedOrder=archivedOrderRepository.findByIdWithItemsAndBooks(orderId)
+                    .orElseThrow(()->(new OrderNotFoundException("Order not found")));
+            if(!isAdmin && !archivedOrder.getUser().getId().equals(userId))
+            {
+                throw new OrderNotFoundException("Order not found");
+            }
+            return toOrderResponseDTO(archivedOrder);
+        }
+        Order order=hotOrder.get();
         // Ownership check — hide existence from non-owner by returning 404
-        if(!isAdmin && !order.getUser().getEmail().equals(email))
+        // user_id is already on the order row, getId() on the lazy proxy does not load the user
+        if(!isAdmin && !order.getUser().getId().equals(userId))
         {
             // Security decision: For non-admin users, treat orders they don’t own as "not found" (404)
             // to prevent leaking the existence of other users’ orders.
@@ -139,21 +211,84 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional
-    public List<OrderResponseDTO> listOrdersForUser(String targetEmail,String loggedInEmail,boolean isAdmin) {
+    public List<OrderResponseDTO> listOrdersForUser(String targetEmail,Long loggedInUserId,boolean isAdmin) {
         /*
          Service method to fetch all orders for a given user.
  - If caller is ADMIN, can view orders for any specified email.
- - If caller is not an admin, they can only view orders for their own email.
+ - If caller is not an admin, they can only view their own orders (looked up by user id, no join to users).
  - Uses a repository method with JOIN FETCH to load OrderItems and Books in one query,
    avoiding the N+1 select problem.
  - Throws no explicit access-denied error here because email filtering via parameters
    already ensures correct ownership visibility.
         */
-        String emailToQuery=isAdmin?targetEmail:loggedInEmail;
-        List<Order> orders=orderRepository.findAllByUserEmailWithItemsAndBooks(emailToQuery);
-        return orders.stream()
-                .map(this::toOrderResponseDTO)
-                .toList();
+        List<Order> orders=isAdmin
+                ?orderRepository.findAllByUserEmailWithItemsAndBooks(targetEmail)
+                :orderRepository.findAllByUserIdWithItemsAndBooks(loggedInUserId);
+        // archived orders are still part of the user's history, merged back in newest-first order
+        List<ArchivedOrder> archivedOrders=isAdmin
+                ?archivedOrderRepository.findAllByUserEmailWithItemsAndBooks(targetEmail)
+                :archivedOrderRepository.findAllByUserIdWithItemsAndBooks(loggedInUserId);
+        if(archivedOrders.isEmpty())
+        {
+            return orders.stream()
+                    .map(this::toOrderResponseDTO)
+                    .toList();
+        }
+        List<OrderResponseDTO> history=new ArrayList<>(orders.size()+archivedOrders.size());
+        orders.forEach(order->history.add(toOrderResponseDTO(order)));
+        archivedOrders.forEach(order->history.add(toOrderResponseDTO(order)));
+        // createdAt is ISO_LOCAL_DATE_TIME, so string order is chronological order
+        history.sort(Comparator.comparing(OrderResponseDTO::getCreatedAt,
+                Comparator.nullsLast(Comparator.<String>naturalOrder())).reversed());
+        return history;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderSyncResponseDTO listOrdersForUserSince(Long userId, LocalDateTime since) {
+        /*
+         Delta sync for the logged-in user's order history.
+ - Returns only orders whose updatedAt is after the client's watermark (served by idx_order_user_updatedAt).
+ - The new watermark is the newest updatedAt we returned, but never later than now - safety lag:
+   a transaction that stamped updatedAt just before ours may not be committed yet, and clamping
+   makes the next sync pick it up. Orders newer than the watermark are simply sent again,
+   so clients must upsert by order id.
+ - A watermark older than the archival min age may miss orders archived since, so the archive is
+   read too in that case (only then, a regular sync stays one query).
+        */
+        List<Order> orders=orderRepository.findAllByUserIdUpdatedAfterWithItemsAndBooks(userId, since);
+        List<ArchivedOrder> archivedOrders=since.isBefore(LocalDateTime.now().minusDays(archivalMinAgeDays))
+                ?archivedOrderRepository.findAllByUserIdUpdatedAfterWithItemsAndBooks(userId, since)
+                :List.of();
+
+        LocalDateTime watermark=since;
+        if(!orders.isEmpty() || !archivedOrders.isEmpty())
+        {
+            // both lists are oldest first, archived orders are never newer than the archival cutoff
+            LocalDateTime newest=!orders.isEmpty()
+                    ?orders.get(orders.size()-1).getUpdatedAt()
+                    :archivedOrders.get(archivedOrders.size()-1).getUpdatedAt();
+            LocalDateTime settled=LocalDateTime.now().minusSeconds(syncSafetyLagSeconds);
+            watermark=newest.isBefore(settled)?newest:settled;
+            if(watermark.isBefore(since))
+            {
+                watermark=since;
+            }
+        }
+
+        List<OrderResponseDTO> changed=new ArrayList<>(orders.size()+archivedOrders.size());
+        archivedOrders.forEach(order->changed.add(toOrderResponseDTO(order)));
+        orders.forEach(order->changed.add(toOrderResponseDTO(order)));
+        if(!archivedOrders.isEmpty())
+        {
+            // updatedAt is ISO_LOCAL_DATE_TIME, so string order is chronological order
+            changed.sort(Comparator.comparing(OrderResponseDTO::getUpdatedAt,
+                    Comparator.nullsFirst(Comparator.<String>naturalOrder())));
+        }
+        return OrderSyncResponseDTO.builder()
+                .orders(changed)
+                .watermark(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(watermark))
+                .build();
     }
 
     @Override
@@ -184,10 +319,10 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional
-    public void cancelOrder(Long orderId, String email, boolean isAdmin) {
+    public void cancelOrder(Long orderId, Long userId, boolean isAdmin) {
         Order order=orderRepository.findByIdWithItemsAndBooks(orderId)
             .orElseThrow(()->(new OrderNotFoundException("Order not found with id "+orderId)));
-        if(!isAdmin && !order.getUser().getEmail().equals(email))
+        if(!isAdmin && !order.getUser().getId().equals(userId))
         {
               throw new OrderNotFoundException("Order not found with id "+orderId);
         }
@@ -199,13 +334,16 @@ public class OrderServiceImpl implements OrderService {
         if(order.getPaymentStatus()==PaymentStatus.PAID)
         {
             order.setPaymentStatus(PaymentStatus.REFUNDED);
+            orderStatsService.recordPaymentStatusChange(PaymentStatus.PAID, PaymentStatus.REFUNDED, order.getTotalAmount());
         }
         order.setOrderStatus(OrderStatus.CANCELLED);
+        orderStatsService.recordOrderStatusChange(OrderStatus.PENDING, OrderStatus.CANCELLED);
 
         // restore stock
         order.getOrderItems().forEach(orderItem->{
             Book book=orderItem.getBook();
             book.setQuantity(book.getQuantity()+orderItem.getQuantity());
+            bestsellerService.recordCancellation(book.getId(), orderItem.getQuantity(), order.getCreatedAt());
         });
     }
     @Transactional
@@ -213,34 +351,77 @@ public class OrderServiceImpl implements OrderService {
     public void updateOrderStatus(Long orderId, OrderStatus newStatus) {
         Order order=orderRepository.findByIdWithItemsAndBooks(orderId)
                 .orElseThrow(()->(new OrderNotFoundException("Order not found with id "+orderId)));
+        // delivered is final: the sales rollups (SalesRollupServiceImpl) have counted it and never subtract
+        if(order.getOrderStatus()==OrderStatus.DELIVERED && newStatus!=OrderStatus.DELIVERED)
+        {
+            throw new OrderStatusTransitionException("Delivered orders cannot change status");
+        }
+        orderStatsService.recordOrderStatusChange(order.getOrderStatus(), newStatus);
         order.setOrderStatus(newStatus);
+        if(newStatus==OrderStatus.DELIVERED && order.getCompletedAt()==null)
+        {
+            order.setCompletedAt(LocalDateTime.now());
+        }
     }
 
-    private OrderResponseDTO toOrderResponseDTO(Order order)
+    // same book on several lines becomes one line with the summed quantity
+    static Map<Long, Integer> combineOrderItems(List<OrderItemRequestDTO> items)
     {
-        List<OrderItemResponseDTO> orderItems=order.getOrderItems().stream()
-                .map(item-> OrderItemResponseDTO.builder()
-                        .bookId(item.getBook().getId())
-                        .bookTitle(item.getBook().getTitle())
-                        .subTotal(item.getSubTotal())
-                        .quantity(item.getQuantity())
-                        .build())
-                .toList();
+        return items.stream()
+                .collect(Collectors.groupingBy(
+                        OrderItemRequestDTO::getBookId,
+                        Collectors.summingInt(OrderItemRequestDTO::getQuantity)
+                ));
+    }
+
+    // package-private (like combineOrderItems) for MappingBenchmark (src/jmh)
+    OrderResponseDTO toOrderResponseDTO(Order order)
+    {
+        return toOrderResponseDTO(order.getId(), order.getOrderStatus(), order.getPaymentStatus(), order.getTotalAmount(),
+                order.getCreatedAt(), order.getUpdatedAt(),
+                order.getOrderItems().stream()
+                        .map(item->toOrderItemResponseDTO(item.getBook(), item.getQuantity(), item.getSubTotal()))
+                        .toList());
+    }
+
+    private OrderResponseDTO toOrderResponseDTO(ArchivedOrder order)
+    {
+        return toOrderResponseDTO(order.getId(), order.getOrderStatus(), order.getPaymentStatus(), order.getTotalAmount(),
+                order.getCreatedAt(), order.getUpdatedAt(),
+                order.getOrderItems().stream()
+                        .map(item->toOrderItemResponseDTO(item.getBook(), item.getQuantity(), item.getSubTotal()))
+                        .toList());
+    }
 
+    // hot and archived orders have the same columns, both map through here
+    private static OrderResponseDTO toOrderResponseDTO(Long id, OrderStatus orderStatus, PaymentStatus paymentStatus,
+                                                       BigDecimal totalAmount, LocalDateTime createdAt,
+                                                       LocalDateTime updatedAt, List<OrderItemResponseDTO> orderItems)
+    {
         // format dates as string
         return OrderResponseDTO.builder()
-                .id(order.getId())
+                .id(id)
                 .orderItems(orderItems)
-                .orderStatus(order.getOrderStatus())
-                .paymentStatus(order.getPaymentStatus())
-                .totalAmount(order.getTotalAmount())
-                .createdAt(order.getCreatedAt() != null
-                        ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(order.getCreatedAt())
+                .orderStatus(orderStatus)
+                .paymentStatus(paymentStatus)
+                .totalAmount(totalAmount)
+                .createdAt(createdAt != null
+                        ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(createdAt)
                         : null)
-                .updatedAt(order.getUpdatedAt() != null
-                        ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(order.getUpdatedAt())
+                .updatedAt(updatedAt != null
+                        ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(updatedAt)
                         : null)
                 .build();
     }
 
+    private static OrderItemResponseDTO toOrderItemResponseDTO(Book book, int quantity, BigDecimal subTotal)
+    {
+        return OrderItemResponseDTO.builder()
+                .bookId(book.getId())
+                .bookTitle(book.getTitle())
+                .subTotal(subTotal)
+                .quantity(quantity)
+                .build();
+    }
+
 }
@@ -0,0 +1,16 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.OrderStatsResponseDTO;
+import com.daniyal.bookstore.enums.OrderStatus;
+import com.daniyal.bookstore.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+
+public interface OrderStatsService {
+    void recordOrderPlaced(OrderStatus orderStatus, PaymentStatus paymentStatus);
+    void recordOrderStatusChange(OrderStatus from, OrderStatus to);
+    void recordPaymentStatusChange(PaymentStatus from, PaymentStatus to, BigDecimal totalAmount);
+
+    OrderStatsResponseDTO getStats();
+    void reconcile();
+}
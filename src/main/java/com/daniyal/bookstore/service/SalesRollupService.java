@@ -0,0 +1,10 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.SalesReportResponseDTO;
+
+import java.time.LocalDate;
+
+public interface SalesRollupService {
+    int rollupCompletedOrders();
+    SalesReportResponseDTO getSalesReport(LocalDate from, LocalDate to, int topBooks);
+}
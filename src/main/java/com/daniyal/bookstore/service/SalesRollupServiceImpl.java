@@ -0,0 +1,239 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.BookSalesResponseDTO;
+import com.daniyal.bookstore.dto.DailySalesResponseDTO;
+import com.daniyal.bookstore.dto.GenreSalesResponseDTO;
+import com.daniyal.bookstore.dto.SalesReportResponseDTO;
+import com.daniyal.bookstore.entity.DailyBookSales;
+import com.daniyal.bookstore.entity.DailyGenreSales;
+import com.daniyal.bookstore.entity.RollupCheckpoint;
+import com.daniyal.bookstore.enums.OrderStatus;
+import com.daniyal.bookstore.repository.DailyBookSalesRepository;
+import com.daniyal.bookstore.repository.DailyGenreSalesRepository;
+import com.daniyal.bookstore.repository.OrderRepository;
+import com.daniyal.bookstore.repository.OrderRepository.CompletedOrderLine;
+import com.daniyal.bookstore.repository.RollupCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ Incremental daily sales rollups, so finance reports never scan orders / order_items.
+ - An order counts as a sale on the day it was completed (Order.completedAt, set when it becomes DELIVERED).
+ - The job walks completed orders in (completedAt, id) order from a persisted high-water mark,
+   so each run only touches orders completed since the previous run.
+ - Every batch adds into the rollup rows and advances the checkpoint in the same transaction,
+   under a row lock on the checkpoint, so a batch is counted exactly once even with several instances.
+ - Orders completed in the last few seconds are left for the next run: their transaction may not
+   have committed yet, and skipping past them would lose them for good.
+ - Rollups only ever add, which is why OrderServiceImpl refuses to move an order out of DELIVERED.
+ - The checkpoint row is created on the very first run, in its own transaction; an instance that
+   loses that race simply uses the winner's row.
+*/
+@Service
+@RequiredArgsConstructor
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupServiceImpl.class);
+    static final String JOB_NAME = "daily-sales";
+
+    private final OrderRepository orderRepository;
+    private final DailyBookSalesRepository dailyBookSalesRepository;
+    private final DailyGenreSalesRepository dailyGenreSalesRepository;
+    private final RollupCheckpointRepository rollupCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${sales.rollup.batch-size:500}")
+    private int batchSize;
+    @Value("${sales.rollup.settle-seconds:60}")
+    private long settleSeconds;
+
+    @Scheduled(fixedDelayString = "${sales.rollup.interval-ms:300000}",
+            initialDelayString = "${sales.rollup.initial-delay-ms:60000}")
+    public void scheduledRollup() {
+        int orders = rollupCompletedOrders();
+        if (orders > 0) {
+            logger.info("Sales rollup processed {} completed orders", orders);
+        }
+    }
+
+    @Override
+    public int rollupCompletedOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(settleSeconds);
+        ensureCheckpoint();
+        int total = 0;
+        int processed;
+        do {
+            processed = transactionTemplate.execute(status -> rollupNextBatch(cutoff));
+            total += processed;
+        } while (processed == batchSize);
+        return total;
+    }
+
+    private int rollupNextBatch(LocalDateTime cutoff) {
+        RollupCheckpoint checkpoint = rollupCheckpointRepository.findByJobNameForUpdate(JOB_NAME)
+                .orElseThrow(() -> new IllegalStateException("Rollup checkpoint " + JOB_NAME + " is missing"));
+
+        List<Object[]> orderKeys = orderRepository.findCompletedOrderKeysAfter(
+                checkpoint.getLastCompletedAt(), checkpoint.getLastOrderId(), cutoff, PageRequest.of(0, batchSize));
+        if (orderKeys.isEmpty()) {
+            return 0;
+        }
+        List<Long> orderIds = orderKeys.stream()
+                .map(key -> (Long) key[0])
+                .toList();
+
+        // aggregate the batch in memory first, then one read + one write per rollup table
+        Map<BookDay, Totals> byBook = new HashMap<>();
+        Map<GenreDay, Totals> byGenre = new HashMap<>();
+        for (CompletedOrderLine line : orderRepository.findCompletedOrderLines(orderIds)) {
+            LocalDate day = line.getCompletedAt().toLocalDate();
+            String genre = line.getGenre() != null ? line.getGenre() : "UNKNOWN";
+            byBook.computeIfAbsent(new BookDay(day, line.getBookId()), key -> new Totals(line.getBookTitle()))
+                    .add(line.getQuantity(), line.getSubTotal());
+            byGenre.computeIfAbsent(new GenreDay(day, genre), key -> new Totals(null))
+                    .add(line.getQuantity(), line.getSubTotal());
+        }
+        mergeBookRollups(byBook);
+        mergeGenreRollups(byGenre);
+
+        Object[] lastKey = orderKeys.get(orderKeys.size() - 1);
+        checkpoint.setLastOrderId((Long) lastKey[0]);
+        checkpoint.setLastCompletedAt((LocalDateTime) lastKey[1]);
+        rollupCheckpointRepository.save(checkpoint);
+        return orderKeys.size();
+    }
+
+    private void ensureCheckpoint() {
+        if (rollupCheckpointRepository.existsById(JOB_NAME)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // first run: orders delivered before completedAt existed get their last update as completion time
+                int backfilled = orderRepository.backfillCompletedAt(OrderStatus.DELIVERED);
+                rollupCheckpointRepository.saveAndFlush(RollupCheckpoint.builder()
+                        .jobName(JOB_NAME)
+                        .lastCompletedAt(LocalDateTime.of(1970, 1, 1, 0, 0))
+                        .lastOrderId(0L)
+                        .build());
+                logger.info("Sales rollup starting from scratch, backfilled completedAt on {} orders", backfilled);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // another instance created it first, its backfill did the same work
+            logger.debug("Sales rollup checkpoint created concurrently by another instance");
+        }
+    }
+
+    private void mergeBookRollups(Map<BookDay, Totals> byBook) {
+        Set<LocalDate> days = byBook.keySet().stream().map(BookDay::day).collect(Collectors.toSet());
+        Set<Long> bookIds = byBook.keySet().stream().map(BookDay::bookId).collect(Collectors.toSet());
+        // day x book cross product may return a few extra rows, they are simply not touched
+        Map<BookDay, DailyBookSales> existing = dailyBookSalesRepository.findBySalesDateInAndBookIdIn(days, bookIds).stream()
+                .collect(Collectors.toMap(row -> new BookDay(row.getSalesDate(), row.getBookId()), Function.identity()));
+
+        List<DailyBookSales> rows = new ArrayList<>();
+        byBook.forEach((key, totals) -> {
+            DailyBookSales row = existing.getOrDefault(key, DailyBookSales.builder()
+                    .salesDate(key.day())
+                    .bookId(key.bookId())
+                    .revenue(BigDecimal.ZERO)
+                    .build());
+            row.setBookTitle(totals.title);
+            row.setUnits(row.getUnits() + totals.units);
+            row.setRevenue(row.getRevenue().add(totals.revenue));
+            rows.add(row);
+        });
+        dailyBookSalesRepository.saveAll(rows);
+    }
+
+    private void mergeGenreRollups(Map<GenreDay, Totals> byGenre) {
+        Set<LocalDate> days = byGenre.keySet().stream().map(GenreDay::day).collect(Collectors.toSet());
+        Set<String> genres = byGenre.keySet().stream().map(GenreDay::genre).collect(Collectors.toSet());
+        Map<GenreDay, DailyGenreSales> existing = dailyGenreSalesRepository.findBySalesDateInAndGenreIn(days, genres).stream()
+                .collect(Collectors.toMap(row -> new GenreDay(row.getSalesDate(), row.getGenre()), Function.identity()));
+
+        List<DailyGenreSales> rows = new ArrayList<>();
+        byGenre.forEach((key, totals) -> {
+            DailyGenreSales row = existing.getOrDefault(key, DailyGenreSales.builder()
+                    .salesDate(key.day())
+                    .genre(key.genre())
+                    .revenue(BigDecimal.ZERO)
+                    .build());
+            row.setUnits(row.getUnits() + totals.units);
+            row.setRevenue(row.getRevenue().add(totals.revenue));
+            rows.add(row);
+        });
+        dailyGenreSalesRepository.saveAll(rows);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SalesReportResponseDTO getSalesReport(LocalDate from, LocalDate to, int topBooks) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (topBooks < 1) {
+            throw new IllegalArgumentException("'top' must be at least 1");
+        }
+
+        List<DailySalesResponseDTO> days = dailyGenreSalesRepository.sumByDayBetween(from, to);
+        List<GenreSalesResponseDTO> genres = dailyGenreSalesRepository.sumByGenreBetween(from, to);
+        List<BookSalesResponseDTO> books = dailyBookSalesRepository.sumByBookBetween(from, to, PageRequest.of(0, topBooks));
+
+        long totalUnits = days.stream().mapToLong(DailySalesResponseDTO::getUnits).sum();
+        BigDecimal totalRevenue = days.stream()
+                .map(DailySalesResponseDTO::getRevenue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        String rolledUpUntil = rollupCheckpointRepository.findById(JOB_NAME)
+                .map(checkpoint -> DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(checkpoint.getLastCompletedAt()))
+                .orElse(null);
+
+        return SalesReportResponseDTO.builder()
+                .from(from)
+                .to(to)
+                .totalUnits(totalUnits)
+                .totalRevenue(totalRevenue)
+                .rolledUpUntil(rolledUpUntil)
+                .days(days)
+                .genres(genres)
+                .topBooks(books)
+                .build();
+    }
+
+    private record BookDay(LocalDate day, Long bookId) {}
+
+    private record GenreDay(LocalDate day, String genre) {}
+
+    private static class Totals {
+        private final String title;
+        private long units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        Totals(String title) {
+            this.title = title;
+        }
+
+        void add(Integer quantity, BigDecimal subTotal) {
+            units += quantity != null ? quantity : 0;
+            if (subTotal != null) {
+                revenue = revenue.add(subTotal);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.daniyal.bookstore.service;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+public interface TokenRevocationService {
+    void revokeToken(String tokenId, String subject, Date expiresAt);
+    void revokeAllTokensOfUser(String email);
+    boolean isRevoked(Claims claims);
+    void refresh();
+}
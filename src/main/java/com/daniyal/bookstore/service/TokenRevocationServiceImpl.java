@@ -0,0 +1,161 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.entity.RevokedToken;
+import com.daniyal.bookstore.repository.RevokedTokenRepository;
+import com.daniyal.bookstore.util.BloomFilter;
+import com.daniyal.bookstore.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static com.daniyal.bookstore.util.TransactionUtils.afterCommit;
+
+/*
+ JWT revocation: revoked_tokens is the source of truth, in-memory views sit in front of it.
+ - Every authenticated request asks isRevoked(); for a token that was never revoked the answer
+   comes from memory, without touching the database.
+ - Single tokens (logout, keyed by jti) go into a Bloom filter. A filter hit is confirmed against the
+   table (false positives), so only revoked tokens - and a tiny fraction of the others - cost a query.
+ - Whole accounts (disable, keyed by "user:" + email) are few, they are kept in a map with their
+   revocation time. A token is dead when it was issued at or before that time, compared at the
+   millisecond of JwtUtil's issued-at claim, so a login right after a re-enable is never caught.
+ - Entries are added once the transaction commits; a refresh running at that moment gets them too.
+ - Both are rebuilt from the table every `security.revocation.refresh-interval-ms`, which is how
+   revocations made on other instances arrive, and expired rows are purged at the same time.
+*/
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationServiceImpl.class);
+    private static final String USER_KEY_PREFIX = "user:";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    private volatile Revocations revocations;
+    // being rebuilt, revocations made meanwhile go into both
+    private volatile Revocations rebuilding;
+
+    public TokenRevocationServiceImpl(RevokedTokenRepository revokedTokenRepository,
+                                      JwtUtil jwtUtil,
+                                      @Value("${security.revocation.expected-entries:100000}") long expectedEntries,
+                                      @Value("${security.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtUtil = jwtUtil;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revocations = newRevocations();
+    }
+
+    @Override
+    public void revokeToken(String tokenId, String subject, Date expiresAt) {
+        if (revokedTokenRepository.findByTokenId(tokenId).isEmpty()) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .tokenId(tokenId)
+                    .subject(subject)
+                    .revokedAt(LocalDateTime.now())
+                    .expiresAt(toLocalDateTime(expiresAt))
+                    .build());
+        }
+        afterCommit(() -> remember(views -> views.tokens().put(tokenId)));
+    }
+
+    @Override
+    public void revokeAllTokensOfUser(String email) {
+        String userKey = USER_KEY_PREFIX + email;
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        RevokedToken revocation = revokedTokenRepository.findByTokenId(userKey)
+                .orElseGet(() -> RevokedToken.builder()
+                        .tokenId(userKey)
+                        .subject(email)
+                        .build());
+        revocation.setRevokedAt(now);
+        // no token issued before now outlives this
+        revocation.setExpiresAt(now.plusNanos(jwtUtil.getTokenLifetimeMillis() * 1_000_000));
+        revokedTokenRepository.save(revocation);
+        afterCommit(() -> remember(views -> views.accounts().merge(userKey, now, TokenRevocationServiceImpl::latest)));
+    }
+
+    @Override
+    public boolean isRevoked(Claims claims) {
+        Revocations current = revocations;
+        String tokenId = claims.getId();
+        if (tokenId != null && current.tokens().mightContain(tokenId)
+                && revokedTokenRepository.findByTokenId(tokenId).isPresent()) {
+            return true;
+        }
+        LocalDateTime accountRevokedAt = current.accounts().get(USER_KEY_PREFIX + claims.getSubject());
+        if (accountRevokedAt == null) {
+            return false;
+        }
+        Long issuedAtMillis = jwtUtil.extractIssuedAtMillis(claims);
+        if (issuedAtMillis != null) {
+            return !toLocalDateTime(new Date(issuedAtMillis)).isAfter(accountRevokedAt);
+        }
+        // issued before the millisecond claim existed: iat has whole seconds, the whole second counts as revoked
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null
+                || !toLocalDateTime(issuedAt).isAfter(accountRevokedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    @Override
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval-ms:30000}",
+            initialDelayString = "${security.revocation.refresh-interval-ms:30000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+
+        Revocations fresh = newRevocations();
+        rebuilding = fresh;
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(now);
+        for (RevokedToken revoked : active) {
+            if (revoked.getTokenId().startsWith(USER_KEY_PREFIX)) {
+                fresh.accounts().merge(revoked.getTokenId(), revoked.getRevokedAt(), TokenRevocationServiceImpl::latest);
+            } else {
+                fresh.tokens().put(revoked.getTokenId());
+            }
+        }
+        revocations = fresh;
+        rebuilding = null;
+        logger.debug("Revocations rebuilt with {} entries ({} accounts), {} expired rows purged",
+                active.size(), fresh.accounts().size(), purged);
+    }
+
+    private void remember(Consumer<Revocations> change) {
+        change.accept(revocations);
+        Revocations next = rebuilding;
+        if (next != null) {
+            change.accept(next);
+        }
+    }
+
+    private Revocations newRevocations() {
+        return new Revocations(new BloomFilter(expectedEntries, falsePositiveRate), new ConcurrentHashMap<>());
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    private record Revocations(BloomFilter tokens, Map<String, LocalDateTime> accounts) {}
+}
@@ -0,0 +1,8 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.UserImportRequestDTO;
+import com.daniyal.bookstore.dto.UserImportResponseDTO;
+
+public interface UserImportService {
+    UserImportResponseDTO importUsers(UserImportRequestDTO request);
+}
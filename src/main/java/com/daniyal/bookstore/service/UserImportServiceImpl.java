@@ -0,0 +1,262 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.UserImportRequestDTO;
+import com.daniyal.bookstore.dto.UserImportResponseDTO;
+import com.daniyal.bookstore.dto.UserImportRowErrorDTO;
+import com.daniyal.bookstore.dto.UserRequestDTO;
+import com.daniyal.bookstore.entity.RolesConverter;
+import com.daniyal.bookstore.exceptions.ImportThrottledException;
+import com.daniyal.bookstore.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/*
+ Bulk user provisioning (partner onboarding) without going through /register row by row.
+ - Every row is validated like a registration; bad rows are reported and skipped, never fail the batch.
+ - Email / username collisions with existing users are found with one IN query each, duplicates
+   inside the batch itself in memory. Comparisons ignore case, like MySQL's default collation does.
+ - BCrypt runs on its own pool, before the transaction opens. Both this pool and the login pool
+   are pure CPU and share the same cores, so by default this one gets half of them: an import
+   slows logins down but leaves them the other half.
+ - An import is split into one hashing task per pool thread. The queue is bounded; when it is full
+   the import is shed right away with 429 + Retry-After, like logins are.
+ - Users are inserted with JDBC batches in one transaction, the CUSTOMER role goes into roles_mask.
+   With MySQL, rewriteBatchedStatements=true on the JDBC url turns a batch into one multi-row INSERT.
+ - A user registered between the collision check and the insert fails the batch on the unique keys;
+   it is then retried row by row, each in its own transaction, and the rows that clash are reported.
+*/
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, password, email, roles_mask, disabled) VALUES (?, ?, ?, ?, ?)";
+    private static final int DEFAULT_ROLES_MASK = RolesConverter.toMask(Set.of("CUSTOMER"));
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final int hashingThreads;
+    private final long retryAfterSeconds;
+    private final int jdbcBatchSize;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 PasswordEncoder passwordEncoder,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 Validator validator,
+                                 @Value("${users.import.hash-threads:0}") int hashThreads,
+                                 @Value("${users.import.queue-capacity:16}") int queueCapacity,
+                                 @Value("${users.import.retry-after-seconds:5}") long retryAfterSeconds,
+                                 @Value("${users.import.jdbc-batch-size:500}") int jdbcBatchSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.jdbcBatchSize = jdbcBatchSize;
+        // 0 = half of the available processors, the rest stay with logins
+        this.hashingThreads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashingExecutor = new ThreadPoolExecutor(hashingThreads, hashingThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "import-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public UserImportResponseDTO importUsers(UserImportRequestDTO request) {
+        List<UserRequestDTO> rows = request.getUsers();
+        List<UserImportRowErrorDTO> errors = new ArrayList<>();
+        List<UserRequestDTO> candidates = new ArrayList<>();
+        List<Integer> candidateRows = new ArrayList<>();
+
+        // 1. per-row validation and duplicates inside the batch
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> batchUsernames = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            UserRequestDTO row = rows.get(i);
+            Map<String, String> rowErrors = new HashMap<>();
+            if (row == null) {
+                rowErrors.put("user", "Row is empty");
+            } else {
+                for (ConstraintViolation<UserRequestDTO> violation : validator.validate(row)) {
+                    rowErrors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+                }
+                if (rowErrors.isEmpty()) {
+                    if (!batchEmails.add(row.getEmail().toLowerCase(Locale.ROOT))) {
+                        rowErrors.put("email", "Email appears more than once in this import");
+                    }
+                    if (!batchUsernames.add(row.getUsername().toLowerCase(Locale.ROOT))) {
+                        rowErrors.put("username", "Username appears more than once in this import");
+                    }
+                }
+            }
+            if (rowErrors.isEmpty()) {
+                candidates.add(row);
+                candidateRows.add(i);
+            } else {
+                errors.add(rowError(i, row, rowErrors));
+            }
+        }
+
+        // 2. collisions with existing users, one query per column
+        Set<String> takenEmails = Set.of();
+        Set<String> takenUsernames = Set.of();
+        if (!candidates.isEmpty()) {
+            takenEmails = lowerCased(userRepository.findExistingEmails(
+                    candidates.stream().map(UserRequestDTO::getEmail).toList()));
+            takenUsernames = lowerCased(userRepository.findExistingUsernames(
+                    candidates.stream().map(UserRequestDTO::getUsername).toList()));
+        }
+        List<UserRequestDTO> accepted = new ArrayList<>();
+        List<Integer> acceptedRows = new ArrayList<>();
+        for (int c = 0; c < candidates.size(); c++) {
+            UserRequestDTO row = candidates.get(c);
+            Map<String, String> rowErrors = new HashMap<>();
+            if (takenEmails.contains(row.getEmail().toLowerCase(Locale.ROOT))) {
+                rowErrors.put("email", "Email already exists");
+            }
+            if (takenUsernames.contains(row.getUsername().toLowerCase(Locale.ROOT))) {
+                rowErrors.put("user", "User already exists");
+            }
+            if (rowErrors.isEmpty()) {
+                accepted.add(row);
+                acceptedRows.add(candidateRows.get(c));
+            } else {
+                errors.add(rowError(candidateRows.get(c), row, rowErrors));
+            }
+        }
+
+        // 3. hash in parallel, 4. insert in one transaction
+        int created = 0;
+        if (!accepted.isEmpty()) {
+            List<String> hashes = hashPasswords(accepted);
+            try {
+                created = transactionTemplate.execute(status -> insertUsers(accepted, hashes));
+            } catch (DataIntegrityViolationException e) {
+                logger.warn("Bulk import collided with a concurrent registration, inserting row by row");
+                created = insertOneByOne(accepted, acceptedRows, hashes, errors);
+            }
+            logger.info("Bulk import created {} of {} users", created, rows.size());
+        }
+        errors.sort(Comparator.comparingInt(UserImportRowErrorDTO::getRow));
+
+        return UserImportResponseDTO.builder()
+                .requested(rows.size())
+                .created(created)
+                .errors(errors)
+                .build();
+    }
+
+    private List<String> hashPasswords(List<UserRequestDTO> users) {
+        int chunkSize = (users.size() + hashingThreads - 1) / hashingThreads;
+        List<Future<List<String>>> futures = new ArrayList<>();
+        try {
+            for (int from = 0; from < users.size(); from += chunkSize) {
+                List<UserRequestDTO> chunk = users.subList(from, Math.min(from + chunkSize, users.size()));
+                futures.add(hashingExecutor.submit(() -> chunk.stream()
+                        .map(user -> passwordEncoder.encode(user.getPassword()))
+                        .toList()));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new ImportThrottledException("Too many imports in progress, please retry shortly", retryAfterSeconds);
+        }
+        List<String> hashes = new ArrayList<>(users.size());
+        try {
+            for (Future<List<String>> future : futures) {
+                hashes.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        return hashes;
+    }
+
+    private int insertUsers(List<UserRequestDTO> users, List<String> hashes) {
+        List<Object[]> userRows = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            UserRequestDTO user = users.get(i);
+            userRows.add(new Object[]{user.getUsername(), hashes.get(i), user.getEmail(), DEFAULT_ROLES_MASK, false});
+        }
+        batchUpdate(INSERT_USER, userRows);
+        return users.size();
+    }
+
+    private int insertOneByOne(List<UserRequestDTO> users, List<Integer> userRows, List<String> hashes,
+                               List<UserImportRowErrorDTO> errors) {
+        int created = 0;
+        for (int i = 0; i < users.size(); i++) {
+            UserRequestDTO user = users.get(i);
+            String hash = hashes.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_USER,
+                        user.getUsername(), hash, user.getEmail(), DEFAULT_ROLES_MASK, false));
+                created++;
+            } catch (DataIntegrityViolationException e) {
+                Map<String, String> rowErrors = new HashMap<>();
+                if (!userRepository.findExistingEmails(List.of(user.getEmail())).isEmpty()) {
+                    rowErrors.put("email", "Email already exists");
+                }
+                if (rowErrors.isEmpty() || !userRepository.findExistingUsernames(List.of(user.getUsername())).isEmpty()) {
+                    rowErrors.put("user", "User already exists");
+                }
+                errors.add(rowError(userRows.get(i), user, rowErrors));
+            }
+        }
+        return created;
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += jdbcBatchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + jdbcBatchSize, rows.size())));
+        }
+    }
+
+    private static UserImportRowErrorDTO rowError(int row, UserRequestDTO user, Map<String, String> errors) {
+        return UserImportRowErrorDTO.builder()
+                .row(row)
+                .email(user != null ? user.getEmail() : null)
+                .errors(errors)
+                .build();
+    }
+
+    private static Set<String> lowerCased(Collection<String> values) {
+        return values.stream()
+                .map(value -> value.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+}
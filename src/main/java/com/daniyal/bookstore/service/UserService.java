@@ -14,4 +14,7 @@ public interface UserService {
     List<UserResponseDTO> getAllUsers();
 
     String login(LoginRequestDTO loginRequest);
+    void logout(String token);
+    void disableUser(Long userId);
+    void enableUser(Long userId);
 }
@@ -5,11 +5,15 @@ import com.daniyal.bookstore.dto.UserResponseDTO;
 import com.daniyal.bookstore.entity.User;
 import com.daniyal.bookstore.exceptions.InvalidCredentialsException;
 import com.daniyal.bookstore.exceptions.UserAlreadyExistsException;
+import com.daniyal.bookstore.exceptions.UserNotFoundException;
 import com.daniyal.bookstore.repository.UserRepository;
+import com.daniyal.bookstore.security.PasswordVerifier;
 import com.daniyal.bookstore.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -23,6 +27,10 @@ public class UserServiceImpl implements UserService{
     private PasswordEncoder passwordEncoder;
     @Autowired
     private JwtUtil jwtUtil;
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
 
     @Override
@@ -76,13 +84,57 @@ public class UserServiceImpl implements UserService{
         if(userOptional.isPresent())
         {
             User userDb=userOptional.get();
-            if(!passwordEncoder.matches(loginRequest.getPassword(),userDb.getPassword()))
+            // BCrypt runs on the bounded login pool, a saturated pool answers 429 (LoginThrottledException)
+            PasswordVerifier.Result verification=passwordVerifier.verify(loginRequest.getPassword(),userDb.getPassword());
+            if(!verification.matches())
             {
                 throw new InvalidCredentialsException("Invalid password");
             }
-            return jwtUtil.generateToken(userDb.getEmail(),userDb.getRoles());
+            if(userDb.isDisabled())
+            {
+                throw new InvalidCredentialsException("Account is disabled");
+            }
+            if(verification.upgradedHash()!=null)
+            {
+                // stored hash used an older BCrypt cost, migrate it now that we know the password
+                userRepository.updatePassword(userDb.getId(),verification.upgradedHash());
+            }
+            return jwtUtil.generateToken(userDb.getId(),userDb.getEmail(),userDb.getRoles());
         }
         throw new InvalidCredentialsException("Invalid email");
     }
 
+    @Override
+    public void logout(String token) {
+        Claims claims=jwtUtil.extractAllClaims(token);
+        if(claims.getId()!=null)
+        {
+            tokenRevocationService.revokeToken(claims.getId(),claims.getSubject(),claims.getExpiration());
+            return;
+        }
+        // tokens issued before jti existed cannot be revoked one by one: log the user out everywhere
+        tokenRevocationService.revokeAllTokensOfUser(claims.getSubject());
+    }
+
+    @Override
+    @Transactional
+    public void disableUser(Long userId) {
+        User user=userRepository.findById(userId)
+                .orElseThrow(()->new UserNotFoundException("User not found"));
+        user.setDisabled(true);
+        // login refuses disabled users, this takes care of the tokens they already hold
+        tokenRevocationService.revokeAllTokensOfUser(user.getEmail());
+    }
+
+    @Override
+    @Transactional
+    public void enableUser(Long userId) {
+        User user=userRepository.findById(userId)
+                .orElseThrow(()->new UserNotFoundException("User not found"));
+        // the account revocation stays until it expires: tokens from before the disable remain dead,
+        // tokens from new logins carry a later millisecond issued-at (even within the same second) and
+        // are checked against the in-memory revocation time only, see TokenRevocationServiceImpl
+        user.setDisabled(false);
+    }
+
 }
@@ -0,0 +1,44 @@
+package com.daniyal.bookstore.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+
+/*
+ One observation (span + bookstore.repository timer) per Spring Data repository call, named after the
+ application interface, e.g. "BookRepository.findAllById". @Observed cannot be used there: the repository
+ implementations are generated proxies and the inherited CrudRepository methods carry no annotation.
+*/
+@Aspect
+public class RepositoryObservationAspect {
+
+    private final ObservationRegistry observationRegistry;
+
+    public RepositoryObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("target(org.springframework.data.repository.Repository) && !execution(* java.lang.Object.*(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint.getTarget());
+        String method = joinPoint.getSignature().getName();
+        return Observation.createNotStarted("bookstore.repository", observationRegistry)
+                .contextualName(repository + "." + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked((Observation.CheckedCallable<Object, Throwable>) joinPoint::proceed);
+    }
+
+    // the repository interface declared in this application, not the proxy class
+    private static String repositoryName(Object target) {
+        for (Class<?> type : target.getClass().getInterfaces()) {
+            if (Repository.class.isAssignableFrom(type) && type.getName().startsWith("com.daniyal.bookstore.")) {
+                return type.getSimpleName();
+            }
+        }
+        return target.getClass().getSimpleName();
+    }
+}
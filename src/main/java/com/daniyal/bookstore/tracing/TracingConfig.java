@@ -0,0 +1,28 @@
+package com.daniyal.bookstore.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ Spans per layer, on top of the HTTP server span Spring MVC already opens for each request:
+ - services: @Observed classes (OrderServiceImpl, BookServiceImpl), one span per public method
+ - repositories: RepositoryObservationAspect, one span per repository call
+ - steps inside a method that are neither (placeOrder's stock check): an Observation in the code
+ Spans are exported over OTLP when management.otlp.tracing.endpoint is set. Trace and span ids are put
+ in the MDC (traceId / spanId) and printed in the log lines. Every observation also records a timer.
+*/
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    @Bean
+    public RepositoryObservationAspect repositoryObservationAspect(ObservationRegistry observationRegistry) {
+        return new RepositoryObservationAspect(observationRegistry);
+    }
+}
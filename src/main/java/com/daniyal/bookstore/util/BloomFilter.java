@@ -0,0 +1,84 @@
+package com.daniyal.bookstore.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ Fixed-size Bloom filter over strings.
+ - mightContain == false is definite, true means "probably" (false positive rate set at construction
+   for the expected number of entries; it degrades gracefully when more are added).
+ - Bits live in an AtomicLongArray, so put / mightContain are lock-free and safe to call concurrently.
+ - k probe positions come from two 64-bit hashes (Kirsch-Mitzenmacher double hashing).
+ - Entries cannot be removed; rebuild a new filter instead.
+*/
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedEntries must be >= 1 and falsePositiveRate in (0, 1)");
+        }
+        // standard sizing: m = -n ln p / (ln 2)^2, k = m / n ln 2
+        long bits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long[] hashes = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hashes, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long[] hashes = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hashes, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bitIndex(long[] hashes, int i) {
+        return Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+    }
+
+    // two independent 64-bit FNV-1a style hashes with a murmur finalizer
+    private static long[] hash(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0xcbf29ce484222325L;
+        long h2 = 0x84222325cbf29ce4L;
+        for (byte b : bytes) {
+            h1 = (h1 ^ (b & 0xff)) * 0x100000001b3L;
+            h2 = (h2 ^ (b & 0xff)) * 0x9e3779b97f4a7c15L;
+        }
+        // odd step so the k probes never collapse onto one bit
+        return new long[]{mix(h1), mix(h2) | 1};
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
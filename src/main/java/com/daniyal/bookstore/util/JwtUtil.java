@@ -1,54 +1,122 @@
 package com.daniyal.bookstore.util;
 
+import com.daniyal.bookstore.jfr.JwtVerificationEvent;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.util.Date;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/*
+ Token issuing and verification.
+ - The signing key and the parser are built once; JwtParser is immutable and thread-safe.
+ - Verified claims are cached by SHA-256 of the whole token (signature included), so a client
+   reusing its token costs one hash + map lookup instead of an HMAC verification and JSON parse.
+   Only tokens that passed verification are ever cached, and an entry is dropped once the
+   token's own expiry passes, so the answer is the same as parsing again.
+ - A full cache makes room with a clock sweep: a hand walks the entries a few at a time, drops the
+   expired ones and those not used since it last passed, and gives the others a second chance.
+   Tokens in use stay cached, and a miss never pays for more than the sample.
+ - Cached Claims are shared between requests and must be treated as read-only.
+*/
 @Component
 public class JwtUtil {
 
-
-    @Value("${jwt.secret}")
-    private String secretKey;
-    private Key key;
     private final long JWT_EXPIRATION = 1000 * 60 * 60 * 10; // 10 hour
+    public static final String USER_ID_CLAIM = "uid";
+    // iat only has whole seconds, account revocations compare at the millisecond
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
+    private final Key key;
+    private final JwtParser parser;
+    private final int claimsCacheMaxEntries;
+    private static final int EVICTION_SAMPLE = 16;
+
+    private final Map<String, CachedClaims> verifiedClaims = new ConcurrentHashMap<>();
+    // clock hand, only moved under the lock in makeRoom
+    private Iterator<CachedClaims> hand = Collections.emptyIterator();
 
-    @PostConstruct
-    public void init() {
-        // Generate a secure random key. In production, use a fixed secret key loaded securely!
-        // In production, load a secret from a config file or environment variable!
-        this.key = Keys.hmacShaKeyFor(java.util.Base64.getDecoder().decode(secretKey));
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.claims-cache.max-entries:10000}") int claimsCacheMaxEntries) {
+        // secret comes from config / environment, never generated at runtime
+        this.key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.claimsCacheMaxEntries = claimsCacheMaxEntries;
     }
 
-    // Generate token including email & roles in claims
+    // Generate token including user id, email & roles in claims
     // Generate token - roles as list for JSON arrays
-    public String generateToken(String email, Set<String> roles) {
-        Map<String, Object> claims = Map.of("roles", List.copyOf(roles));
+    public String generateToken(Long userId, String email, Set<String> roles) {
+        long now = System.currentTimeMillis();
+        Map<String, Object> claims = Map.of(
+                "roles", List.copyOf(roles),
+                USER_ID_CLAIM, userId,
+                ISSUED_AT_MILLIS_CLAIM, now);
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION))
+                // jti, lets a single token be revoked (logout), see TokenRevocationService
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + JWT_EXPIRATION))
                 .signWith(key)
                 .compact();
     }
 
+    // Verifies signature and expiry; throws the usual jjwt exceptions for bad tokens.
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        Claims claims = null;
+        try {
+            claims = verifiedClaims(token, event);
+            return claims;
+        } catch (RuntimeException e) {
+            event.failure = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Long userId = claims != null ? extractUserId(claims) : null;
+                event.userId = userId != null ? userId : 0;
+                event.commit();
+            }
+        }
+    }
+
+    private Claims verifiedClaims(String token, JwtVerificationEvent event) {
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        CachedClaims cached = verifiedClaims.get(digest);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                event.cacheHit = true;
+                if (!cached.referenced) {
+                    cached.referenced = true;
+                }
+                return cached.claims;
+            }
+            // expired: parse again so the caller gets the same ExpiredJwtException as before
+            verifiedClaims.remove(digest);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            makeRoom(now);
+            verifiedClaims.put(digest, new CachedClaims(claims, expiration.getTime()));
+        }
+        return claims;
     }
 
     public String extractUsername(String token) {
@@ -60,12 +128,75 @@ public class JwtUtil {
         return claims.get("roles", List.class);
     }
 
+    // null for tokens issued before the uid claim existed
+    public Long extractUserId(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        return userId instanceof Number number ? number.longValue() : null;
+    }
+
+    // null for tokens issued before the iat_ms claim existed
+    public Long extractIssuedAtMillis(Claims claims) {
+        Object issuedAt = claims.get(ISSUED_AT_MILLIS_CLAIM);
+        return issuedAt instanceof Number number ? number.longValue() : null;
+    }
+
     public boolean isTokenExpired(String token) {
         return extractAllClaims(token).getExpiration().before(new Date());
     }
 
     public boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
+    }
+
+    public long getTokenLifetimeMillis() {
+        return JWT_EXPIRATION;
+    }
+
+    private synchronized void makeRoom(long now) {
+        if (verifiedClaims.size() < claimsCacheMaxEntries) {
+            return;
+        }
+        for (int examined = 0; ; examined++) {
+            if (!hand.hasNext()) {
+                hand = verifiedClaims.values().iterator();
+                if (!hand.hasNext()) {
+                    return;
+                }
+            }
+            CachedClaims cached = hand.next();
+            // past the sample every token was in use: this one goes, it is re-verified on its next use
+            if (examined >= EVICTION_SAMPLE || cached.expiresAt <= now || !cached.referenced) {
+                hand.remove();
+                return;
+            }
+            cached.referenced = false;
+        }
+    }
+
+    boolean isCached(String token) {
+        return verifiedClaims.containsKey(digest(token));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CachedClaims {
+        private final Claims claims;
+        private final long expiresAt;
+        // used since the clock hand last passed
+        private volatile boolean referenced;
+
+        private CachedClaims(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
     }
 }
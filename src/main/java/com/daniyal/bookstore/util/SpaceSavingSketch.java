@@ -0,0 +1,74 @@
+package com.daniyal.bookstore.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ Space-Saving heavy hitters sketch (Metwally et al.): tracks at most `capacity` keys no matter how
+ many distinct keys are offered.
+ - A key that is already tracked just gets its count increased.
+ - A new key takes over the counter with the smallest count and starts from that count,
+   so a tracked count is never underestimated and overestimated by at most the evicted minimum.
+ - Any key whose true count is above total / capacity is guaranteed to be tracked.
+ Methods are synchronized; the sketch is small and updates are a map lookup plus, on eviction,
+ a scan over `capacity` counters.
+*/
+public class SpaceSavingSketch<K> {
+
+    private final int capacity;
+    private final Map<K, Counter> counters;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void add(K key, long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += amount;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Counter(amount));
+            return;
+        }
+        K minKey = null;
+        Counter min = null;
+        for (Map.Entry<K, Counter> entry : counters.entrySet()) {
+            if (min == null || entry.getValue().count < min.count) {
+                minKey = entry.getKey();
+                min = entry.getValue();
+            }
+        }
+        counters.remove(minKey);
+        counters.put(key, new Counter(min.count + amount));
+    }
+
+    // Best effort undo (e.g. a cancelled order): only possible while the key is still tracked.
+    public synchronized void subtract(K key, long amount) {
+        Counter counter = counters.get(key);
+        if (counter != null && amount > 0) {
+            counter.count = Math.max(0, counter.count - amount);
+        }
+    }
+
+    // Adds this sketch's estimates into `target`, used to merge the buckets of a time window.
+    public synchronized void mergeCountsInto(Map<K, Long> target) {
+        counters.forEach((key, counter) -> target.merge(key, counter.count, Long::sum));
+    }
+
+    private static final class Counter {
+        private long count;
+
+        private Counter(long count) {
+            this.count = count;
+        }
+    }
+}
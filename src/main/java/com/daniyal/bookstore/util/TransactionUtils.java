@@ -0,0 +1,25 @@
+package com.daniyal.bookstore.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionUtils {
+
+    private TransactionUtils() {
+    }
+
+    // Runs the action once the surrounding transaction has committed (never on rollback),
+    // or right away when there is no transaction. Used to keep in-memory views in sync with the DB.
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
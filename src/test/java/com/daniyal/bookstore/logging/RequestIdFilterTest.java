@@ -0,0 +1,48 @@
+package com.daniyal.bookstore.logging;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestIdFilterTest {
+
+    private final RequestIdFilter filter = new RequestIdFilter();
+
+    @Test
+    public void keepsTheCallersIdForTheWholeRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader(RequestIdFilter.HEADER, "gateway-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seenByChain = new AtomicReference<>();
+
+        filter.doFilter(request, response, recordingChain(seenByChain));
+
+        assertThat(seenByChain.get()).isEqualTo("gateway-42");
+        assertThat(response.getHeader(RequestIdFilter.HEADER)).isEqualTo("gateway-42");
+        // pooled threads must not carry it into the next request
+        assertThat(MDC.get(RequestIdFilter.MDC_KEY)).isNull();
+    }
+
+    @Test
+    public void replacesMissingOrUnsafeIds() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader(RequestIdFilter.HEADER, "forged\n{\"level\":\"ERROR\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seenByChain = new AtomicReference<>();
+
+        filter.doFilter(request, response, recordingChain(seenByChain));
+
+        assertThat(seenByChain.get()).matches("[0-9a-f]{16}");
+        assertThat(response.getHeader(RequestIdFilter.HEADER)).isEqualTo(seenByChain.get());
+    }
+
+    private static FilterChain recordingChain(AtomicReference<String> seenByChain) {
+        return (request, response) -> seenByChain.set(MDC.get(RequestIdFilter.MDC_KEY));
+    }
+}
@@ -0,0 +1,43 @@
+package com.daniyal.bookstore.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// actuator on its own port: open for the scrape, not served on the public port at all
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability(tracing = false)
+class ActuatorAccessTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @LocalServerPort
+    private int serverPort;
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void managementPortServesHealthAndPrometheusWithoutToken() {
+        assertThat(get(managementPort, "/actuator/health").getStatusCode().value()).isEqualTo(200);
+
+        ResponseEntity<String> prometheus = get(managementPort, "/actuator/prometheus");
+        assertThat(prometheus.getStatusCode().value()).isEqualTo(200);
+        assertThat(prometheus.getBody()).contains("application=\"Bookstore\"");
+    }
+
+    @Test
+    void serverPortDoesNotServePrometheus() {
+        assertThat(get(serverPort, "/actuator/prometheus").getStatusCode().is2xxSuccessful()).isFalse();
+    }
+
+    private ResponseEntity<String> get(int port, String path) {
+        return restTemplate.getForEntity("http://localhost:" + port + path, String.class);
+    }
+}
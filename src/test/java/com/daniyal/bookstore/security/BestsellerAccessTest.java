@@ -0,0 +1,46 @@
+package com.daniyal.bookstore.security;
+
+import com.daniyal.bookstore.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the rest of /api/books is admin only, the best sellers are for every signed-in user
+@SpringBootTest
+@AutoConfigureMockMvc
+class BestsellerAccessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void customerCanReadBestsellers() throws Exception {
+        String token = jwtUtil.generateToken(1L, "customer@test.com", Set.of("CUSTOMER"));
+
+        mockMvc.perform(get("/api/books/bestsellers").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void customerStillCannotListAllBooks() throws Exception {
+        String token = jwtUtil.generateToken(1L, "customer@test.com", Set.of("CUSTOMER"));
+
+        mockMvc.perform(get("/api/books/all").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void anonymousCannotReadBestsellers() throws Exception {
+        mockMvc.perform(get("/api/books/bestsellers"))
+                .andExpect(status().isUnauthorized());
+    }
+}
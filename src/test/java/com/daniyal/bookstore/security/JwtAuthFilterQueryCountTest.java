@@ -0,0 +1,90 @@
+package com.daniyal.bookstore.security;
+
+import com.daniyal.bookstore.entity.User;
+import com.daniyal.bookstore.repository.UserRepository;
+import com.daniyal.bookstore.support.DatabaseCleaner;
+import com.daniyal.bookstore.support.QueryBudget;
+import com.daniyal.bookstore.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /api/admin/stats/orders is served from memory, so every statement counted here comes from authentication
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthFilterQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private DatabaseCleaner databaseCleaner;
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        databaseCleaner.clean();
+        admin = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@test.com")
+                .password("not-used")
+                .roles(Set.of("ADMIN"))
+                .build());
+    }
+
+    @Test
+    void authenticatedRequestRunsNoQuery() throws Exception {
+        String token = jwtUtil.generateToken(admin.getId(), admin.getEmail(), admin.getRoles());
+
+        QueryBudget.atMost(0, () -> mockMvc.perform(get("/api/admin/stats/orders").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void tokenWithoutUserIdLooksUpOnlyTheId() throws Exception {
+        // issued before the uid claim existed
+        String legacyToken = Jwts.builder()
+                .claim("roles", List.of("ADMIN"))
+                .setSubject(admin.getEmail())
+                .setId("legacy-token")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(jwtSecret)))
+                .compact();
+
+        QueryBudget.atMost(1, () -> mockMvc.perform(get("/api/admin/stats/orders").header("Authorization", "Bearer " + legacyToken))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void publicRouteIgnoresTheTokenEntirely() throws Exception {
+        // a broken token on a public route is never parsed: email + username checks and the insert
+        QueryBudget.atMost(3, () -> mockMvc.perform(post("/api/users/register")
+                        .header("Authorization", "Bearer not.a.token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"newuser\",\"email\":\"new@test.com\",\"password\":\"secret1\"}"))
+                .andExpect(status().isCreated()));
+    }
+}
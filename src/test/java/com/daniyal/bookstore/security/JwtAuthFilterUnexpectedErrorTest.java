@@ -0,0 +1,35 @@
+package com.daniyal.bookstore.security;
+
+import com.daniyal.bookstore.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// a failure outside the usual jjwt exceptions must still answer, not end the chain with an empty 200
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthFilterUnexpectedErrorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockitoSpyBean
+    private JwtUtil jwtUtil;
+
+    @Test
+    void unexpectedVerificationErrorIsA401() throws Exception {
+        doThrow(new IllegalStateException("boom")).when(jwtUtil).extractAllClaims(anyString());
+
+        mockMvc.perform(get("/api/orders/my").header("Authorization", "Bearer some.token.value"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_TOKEN"));
+    }
+}
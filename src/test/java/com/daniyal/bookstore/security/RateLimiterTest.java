@@ -0,0 +1,96 @@
+package com.daniyal.bookstore.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    // "slow" does not refill within a test, "fast" refills every 100ms
+    private final RateLimiter rateLimiter = new RateLimiter(properties(
+            group("slow", "/api/orders/**", 3, 1),
+            group("fast", "/api/books/**", 1, 10)));
+
+    @Test
+    void burstOfCapacityIsAllowedThenRejectedWithTheWait() {
+        RateLimiter.GroupLimit slow = rateLimiter.findGroup("/api/orders/my");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(slow, "client")).isZero();
+        }
+        long waitNanos = rateLimiter.tryAcquire(slow, "client");
+
+        // one emission interval, less the little time the burst took
+        assertThat(waitNanos).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.getAllowedByGroup()).containsEntry("slow", 3L);
+        assertThat(rateLimiter.getRejectedByGroup()).containsEntry("slow", 1L);
+    }
+
+    @Test
+    void clientsHaveTheirOwnBuckets() {
+        RateLimiter.GroupLimit fast = rateLimiter.findGroup("/api/books/all");
+
+        assertThat(rateLimiter.tryAcquire(fast, "a")).isZero();
+        assertThat(rateLimiter.tryAcquire(fast, "b")).isZero();
+        assertThat(rateLimiter.getTrackedBuckets()).isEqualTo(2);
+    }
+
+    @Test
+    void bucketRefillsAfterTheReturnedWait() throws InterruptedException {
+        RateLimiter.GroupLimit fast = rateLimiter.findGroup("/api/books/all");
+        assertThat(rateLimiter.tryAcquire(fast, "client")).isZero();
+        long waitNanos = rateLimiter.tryAcquire(fast, "client");
+        assertThat(waitNanos).isPositive();
+
+        TimeUnit.NANOSECONDS.sleep(waitNanos + TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertThat(rateLimiter.tryAcquire(fast, "client")).isZero();
+    }
+
+    @Test
+    void onlyBucketsFullAgainAreEvicted() throws InterruptedException {
+        RateLimiter.GroupLimit slow = rateLimiter.findGroup("/api/orders/my");
+        RateLimiter.GroupLimit fast = rateLimiter.findGroup("/api/books/all");
+        rateLimiter.tryAcquire(fast, "idle");
+        TimeUnit.MILLISECONDS.sleep(150);
+        // still a second away from full
+        rateLimiter.tryAcquire(slow, "active");
+
+        rateLimiter.evictIdleBuckets();
+
+        assertThat(rateLimiter.getTrackedBuckets()).isEqualTo(1);
+        assertThat(rateLimiter.tryAcquire(slow, "active")).isZero();
+        assertThat(rateLimiter.getTrackedBuckets()).isEqualTo(1);
+    }
+
+    @Test
+    void unmatchedPathHasNoGroup() {
+        assertThat(rateLimiter.findGroup("/api/users/login")).isNull();
+    }
+
+    @Test
+    void groupWithoutRefillIsRejected() {
+        assertThatThrownBy(() -> new RateLimiter(properties(group("broken", "/**", 1, 0))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RateLimitProperties properties(RateLimitProperties.Group... groups) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIdleEvictionSeconds(0);
+        properties.setGroups(List.of(groups));
+        return properties;
+    }
+
+    private static RateLimitProperties.Group group(String name, String pattern, int capacity, double refillPerSecond) {
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setName(name);
+        group.setPatterns(List.of(pattern));
+        group.setCapacity(capacity);
+        group.setRefillPerSecond(refillPerSecond);
+        return group;
+    }
+}
@@ -0,0 +1,69 @@
+package com.daniyal.bookstore.security;
+
+import com.daniyal.bookstore.entity.User;
+import com.daniyal.bookstore.repository.UserRepository;
+import com.daniyal.bookstore.support.DatabaseCleaner;
+import com.daniyal.bookstore.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// actuator on the server port: only health is public, everything else needs an admin token
+@SpringBootTest(properties = "management.server.port=")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class SharedPortActuatorAccessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private DatabaseCleaner databaseCleaner;
+
+    @BeforeEach
+    void setUp() {
+        databaseCleaner.clean();
+    }
+
+    @Test
+    void healthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void prometheusRejectsAnonymousAndCustomers() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + tokenFor("customer", "CUSTOMER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void prometheusIsServedToAdmins() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + tokenFor("admin", "ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    private String tokenFor(String username, String role) {
+        User user = userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@test.com")
+                .password("not-used")
+                .roles(Set.of(role))
+                .build());
+        return jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRoles());
+    }
+}
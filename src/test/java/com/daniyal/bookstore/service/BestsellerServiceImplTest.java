@@ -0,0 +1,76 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.BestsellerResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static com.daniyal.bookstore.enums.BestsellerWindow.LAST_24_HOURS;
+import static com.daniyal.bookstore.enums.BestsellerWindow.LAST_7_DAYS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// no transaction is active here, so sales reach the sketches right away
+class BestsellerServiceImplTest {
+
+    // hourly buckets, a ring of 168 covering the 7 day window
+    private final BestsellerServiceImpl bestsellerService = new BestsellerServiceImpl(60, 10, 10);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void eachWindowOnlyCountsItsOwnBuckets() {
+        bestsellerService.recordSale(1L, "Recent", 2, now);
+        bestsellerService.recordSale(2L, "Last week", 5, now.minusDays(3));
+        bestsellerService.recordSale(3L, "Too old", 9, now.minusDays(10));
+
+        bestsellerService.refreshRankings();
+
+        assertThat(bestsellerService.getBestsellers(LAST_24_HOURS, 10))
+                .extracting(BestsellerResponseDTO::getBookId).containsExactly(1L);
+        assertThat(bestsellerService.getBestsellers(LAST_7_DAYS, 10))
+                .extracting(BestsellerResponseDTO::getBookId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void newerBucketReplacesTheOneItsSlotHeld() {
+        // exactly one ring apart: same slot
+        LocalDateTime ringAgo = now.minusDays(7);
+        bestsellerService.recordSale(1L, "Old", 4, ringAgo);
+        bestsellerService.recordSale(2L, "New", 1, now);
+        // the old bucket is gone, neither a late sale nor a cancellation brings it back
+        bestsellerService.recordSale(1L, "Old", 4, ringAgo);
+        bestsellerService.recordCancellation(2L, 1, ringAgo);
+
+        bestsellerService.refreshRankings();
+
+        assertThat(bestsellerService.getBestsellers(LAST_7_DAYS, 10))
+                .extracting(BestsellerResponseDTO::getBookId, BestsellerResponseDTO::getUnitsSold)
+                .containsExactly(tuple(2L, 1L));
+    }
+
+    @Test
+    void cancellationIsTakenOffItsBucketAndEmptyBooksDropOut() {
+        bestsellerService.recordSale(1L, "Cancelled", 3, now);
+        bestsellerService.recordSale(2L, "Kept", 1, now);
+        bestsellerService.recordCancellation(1L, 3, now);
+
+        bestsellerService.refreshRankings();
+
+        assertThat(bestsellerService.getBestsellers(LAST_24_HOURS, 10))
+                .extracting(BestsellerResponseDTO::getBookId).containsExactly(2L);
+    }
+
+    @Test
+    void limitCutsTheRanking() {
+        bestsellerService.recordSale(1L, "First", 3, now);
+        bestsellerService.recordSale(2L, "Second", 2, now);
+
+        bestsellerService.refreshRankings();
+
+        assertThat(bestsellerService.getBestsellers(LAST_24_HOURS, 1))
+                .singleElement().satisfies(bestseller -> {
+                    assertThat(bestseller.getBookId()).isEqualTo(1L);
+                    assertThat(bestseller.getTitle()).isEqualTo("First");
+                });
+    }
+}
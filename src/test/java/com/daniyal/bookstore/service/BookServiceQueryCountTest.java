@@ -0,0 +1,107 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.entity.Author;
+import com.daniyal.bookstore.entity.Book;
+import com.daniyal.bookstore.repository.AuthorRepository;
+import com.daniyal.bookstore.repository.BookRepository;
+import com.daniyal.bookstore.support.DatabaseCleaner;
+import com.daniyal.bookstore.support.QueryBudget;
+import com.daniyal.bookstore.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookServiceQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private DatabaseCleaner databaseCleaner;
+
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        databaseCleaner.clean();
+        adminToken = "Bearer " + jwtUtil.generateToken(1L, "admin@test.com", Set.of("ADMIN"));
+    }
+
+    @Test
+    void firstPageLoadsAllAuthorsInOneBatch() throws Exception {
+        seedBooks(40);
+
+        // page query + one batched author fetch; the page is not full, so no count query
+        QueryBudget.atMost(2, () -> mockMvc.perform(get("/api/books?size=50").header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(40))
+                .andExpect(jsonPath("$.content[0].authors.length()").value(2)));
+    }
+
+    @Test
+    void fullPageOnlyAddsTheCountQuery() throws Exception {
+        seedBooks(120);
+
+        QueryBudget.atMost(3, () -> mockMvc.perform(get("/api/books?page=1&size=50").header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(50)));
+    }
+
+    @Test
+    void searchLoadsAllAuthorsInOneBatch() throws Exception {
+        seedBooks(40);
+
+        QueryBudget.atMost(2, () -> mockMvc.perform(get("/api/books/search?genre=Fiction&size=50").header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(40)));
+    }
+
+    @Test
+    void getBookByIdIsOneBookAndOneAuthorQuery() throws Exception {
+        Book book = seedBooks(1).get(0);
+
+        // the endpoint answers 302 FOUND
+        QueryBudget.atMost(2, () -> mockMvc.perform(get("/api/books/" + book.getId()).header("Authorization", adminToken))
+                .andExpect(status().isFound()));
+    }
+
+    private List<Book> seedBooks(int count) {
+        List<Author> authors = authorRepository.saveAll(List.of(
+                Author.builder().name("Author A").build(),
+                Author.builder().name("Author B").build(),
+                Author.builder().name("Author C").build()));
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            books.add(Book.builder()
+                    .title("Book " + i)
+                    .authors(Set.of(authors.get(i % 3), authors.get((i + 1) % 3)))
+                    .genre("Fiction")
+                    .isbn("isbn-" + i)
+                    .description("description " + i)
+                    .price(new BigDecimal("9.99"))
+                    .quantity(100)
+                    .imageUrl("http://images/" + i + ".jpg")
+                    .build());
+        }
+        return bookRepository.saveAll(books);
+    }
+}
@@ -0,0 +1,126 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.OrderResponseDTO;
+import com.daniyal.bookstore.dto.OrderSyncResponseDTO;
+import com.daniyal.bookstore.entity.Book;
+import com.daniyal.bookstore.entity.User;
+import com.daniyal.bookstore.enums.OrderStatus;
+import com.daniyal.bookstore.repository.BookRepository;
+import com.daniyal.bookstore.repository.UserRepository;
+import com.daniyal.bookstore.support.DatabaseCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OrderArchivalServiceTest {
+
+    @Autowired
+    private OrderArchivalService orderArchivalService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DatabaseCleaner databaseCleaner;
+
+    private User customer;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        databaseCleaner.clean();
+        customer = userRepository.save(User.builder()
+                .username("customer")
+                .email("customer@test.com")
+                .password("not-used")
+                .roles(Set.of("CUSTOMER"))
+                .build());
+        book = bookRepository.save(Book.builder()
+                .title("Novel")
+                .genre("Fiction")
+                .isbn("archive-isbn-1")
+                .price(new BigDecimal("10.00"))
+                .quantity(100)
+                .build());
+    }
+
+    @Test
+    void movesOnlyOldFinishedOrdersWithTheirItems() {
+        LocalDateTime old = LocalDateTime.now().minusDays(200);
+        order(1, OrderStatus.DELIVERED, old, 2);
+        order(2, OrderStatus.CANCELLED, old, 1);
+        // not finished, or finished too recently
+        order(3, OrderStatus.SHIPPED, old, 1);
+        order(4, OrderStatus.DELIVERED, LocalDateTime.now().minusDays(1), 1);
+
+        assertThat(orderArchivalService.archiveFinishedOrders()).isEqualTo(2);
+
+        assertThat(ids("SELECT id FROM orders ORDER BY id")).containsExactly(3L, 4L);
+        assertThat(ids("SELECT order_id FROM order_items ORDER BY order_id")).containsExactly(3L, 4L);
+        assertThat(ids("SELECT id FROM orders_archive ORDER BY id")).containsExactly(1L, 2L);
+        assertThat(ids("SELECT order_id FROM order_items_archive ORDER BY order_id")).containsExactly(1L, 1L, 2L);
+        assertThat(orderArchivalService.archiveFinishedOrders()).isZero();
+    }
+
+    @Test
+    void readsFallBackToTheArchive() {
+        LocalDateTime old = LocalDateTime.now().minusDays(200);
+        order(1, OrderStatus.DELIVERED, old, 2);
+        order(2, OrderStatus.PENDING, LocalDateTime.now().minusDays(1), 1);
+        orderArchivalService.archiveFinishedOrders();
+
+        OrderResponseDTO archived = orderService.getOrderById(1L, customer.getId(), false);
+        assertThat(archived.getOrderStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(archived.getOrderItems()).hasSize(2);
+
+        assertThat(orderService.listOrdersForUser(null, customer.getId(), false))
+                .extracting(OrderResponseDTO::getId)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void syncFromBeforeTheArchivalCutoffIncludesArchivedOrders() {
+        LocalDateTime old = LocalDateTime.now().minusDays(200);
+        order(1, OrderStatus.DELIVERED, old, 1);
+        order(2, OrderStatus.PENDING, LocalDateTime.now().minusDays(1), 1);
+        orderArchivalService.archiveFinishedOrders();
+
+        OrderSyncResponseDTO fullResync = orderService.listOrdersForUserSince(customer.getId(), old.minusDays(1));
+        assertThat(fullResync.getOrders()).extracting(OrderResponseDTO::getId).containsExactly(1L, 2L);
+
+        // a recent watermark cannot have missed an archived order, only the hot table is read
+        OrderSyncResponseDTO recent = orderService.listOrdersForUserSince(customer.getId(), LocalDateTime.now().minusDays(10));
+        assertThat(recent.getOrders()).extracting(OrderResponseDTO::getId).containsExactly(2L);
+    }
+
+    private List<Long> ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class);
+    }
+
+    private void order(long orderId, OrderStatus status, LocalDateTime updatedAt, int lines) {
+        jdbcTemplate.update("INSERT INTO orders (id, user_id, order_status, payment_status, total_amount, created_at, updated_at, completed_at) "
+                        + "VALUES (?, ?, ?, 'PAID', ?, ?, ?, ?)",
+                orderId, customer.getId(), status.name(), BigDecimal.TEN.multiply(BigDecimal.valueOf(lines)),
+                Timestamp.valueOf(updatedAt.minusHours(1)), Timestamp.valueOf(updatedAt),
+                status == OrderStatus.DELIVERED ? Timestamp.valueOf(updatedAt) : null);
+        for (int line = 0; line < lines; line++) {
+            jdbcTemplate.update("INSERT INTO order_items (book_id, order_id, quantity, sub_total) VALUES (?, ?, 1, 10.00)",
+                    book.getId(), orderId);
+        }
+    }
+}
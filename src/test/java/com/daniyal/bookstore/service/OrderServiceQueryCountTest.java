@@ -0,0 +1,124 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.entity.Book;
+import com.daniyal.bookstore.entity.User;
+import com.daniyal.bookstore.repository.BookRepository;
+import com.daniyal.bookstore.repository.UserRepository;
+import com.daniyal.bookstore.support.DatabaseCleaner;
+import com.daniyal.bookstore.support.QueryBudget;
+import com.daniyal.bookstore.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderServiceQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private DatabaseCleaner databaseCleaner;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String customerToken;
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        databaseCleaner.clean();
+        User customer = userRepository.save(User.builder()
+                .username("customer")
+                .email("customer@test.com")
+                .password("not-used")
+                .roles(Set.of("CUSTOMER"))
+                .build());
+        customerToken = "Bearer " + jwtUtil.generateToken(customer.getId(), customer.getEmail(), customer.getRoles());
+        books = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            books.add(Book.builder()
+                    .title("Book " + i)
+                    .genre("Fiction")
+                    .isbn("order-isbn-" + i)
+                    .price(new BigDecimal("10.00"))
+                    .quantity(1000)
+                    .build());
+        }
+        books = bookRepository.saveAll(books);
+    }
+
+    @Test
+    void placeOrderLooksUpAllBooksInOneSelect() throws Exception {
+        // three books, one of them on two lines
+        String body = orderBody(books.get(0), books.get(1), books.get(2), books.get(0));
+
+        // user is a reference from the token id, books come from one findAllById
+        QueryBudget.selectsAtMost(1, () -> mockMvc.perform(post("/api/orders")
+                        .header("Authorization", customerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.orderItems.length()").value(3)));
+    }
+
+    @Test
+    void getOrderByIdIsOneQuery() throws Exception {
+        long orderId = placeOrder(books.get(0), books.get(1), books.get(2));
+
+        // hot order with items and books in one JOIN FETCH, the ownership check uses the user_id column
+        QueryBudget.atMost(1, () -> mockMvc.perform(get("/api/orders/" + orderId).header("Authorization", customerToken))
+                .andExpect(jsonPath("$.orderItems.length()").value(3)));
+    }
+
+    @Test
+    void listMyOrdersDoesNotGrowWithTheNumberOfOrders() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            placeOrder(books.get(i), books.get((i + 1) % 5));
+        }
+
+        // one JOIN FETCH for the hot orders, one for the archive
+        QueryBudget.atMost(2, () -> mockMvc.perform(get("/api/orders/my").header("Authorization", customerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5)));
+    }
+
+    private long placeOrder(Book... orderedBooks) throws Exception {
+        String response = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", customerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orderBody(orderedBooks)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private String orderBody(Book... orderedBooks) throws Exception {
+        List<Object> items = new ArrayList<>();
+        for (Book book : orderedBooks) {
+            items.add(java.util.Map.of("bookId", book.getId(), "quantity", 1));
+        }
+        return objectMapper.writeValueAsString(java.util.Map.of("orderItems", items));
+    }
+}
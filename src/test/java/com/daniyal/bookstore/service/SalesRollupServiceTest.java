@@ -0,0 +1,167 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.SalesReportResponseDTO;
+import com.daniyal.bookstore.entity.Book;
+import com.daniyal.bookstore.entity.User;
+import com.daniyal.bookstore.enums.OrderStatus;
+import com.daniyal.bookstore.exceptions.OrderStatusTransitionException;
+import com.daniyal.bookstore.repository.BookRepository;
+import com.daniyal.bookstore.repository.RollupCheckpointRepository;
+import com.daniyal.bookstore.repository.UserRepository;
+import com.daniyal.bookstore.support.DatabaseCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// small batches so a run takes several of them; no settle time, orders are committed before each run
+@SpringBootTest(properties = {
+        "sales.rollup.batch-size=2",
+        "sales.rollup.settle-seconds=0"
+})
+class SalesRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private RollupCheckpointRepository rollupCheckpointRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DatabaseCleaner databaseCleaner;
+
+    private User customer;
+    private Book fiction;
+    private Book poetry;
+    private long nextOrderId;
+
+    @BeforeEach
+    void setUp() {
+        databaseCleaner.clean();
+        customer = userRepository.save(User.builder()
+                .username("customer")
+                .email("customer@test.com")
+                .password("not-used")
+                .roles(Set.of("CUSTOMER"))
+                .build());
+        fiction = bookRepository.save(book("Novel", "Fiction", "rollup-isbn-1"));
+        poetry = bookRepository.save(book("Poems", "Poetry", "rollup-isbn-2"));
+        nextOrderId = 1;
+    }
+
+    @Test
+    void firstRunBackfillsLegacyOrdersAndCountsEveryCompletedOrderOnce() {
+        // delivered before completedAt existed: counted on the day of its last update
+        order(OrderStatus.DELIVERED, null, DAY.atTime(9, 0), fiction, 2);
+        order(OrderStatus.DELIVERED, DAY.atTime(10, 0), DAY.atTime(10, 0), fiction, 1);
+        order(OrderStatus.DELIVERED, DAY.atTime(11, 0), DAY.atTime(11, 0), poetry, 3);
+        order(OrderStatus.SHIPPED, null, DAY.atTime(12, 0), poetry, 5);
+
+        assertThat(salesRollupService.rollupCompletedOrders()).isEqualTo(3);
+        assertThat(rollupCheckpointRepository.existsById(SalesRollupServiceImpl.JOB_NAME)).isTrue();
+
+        SalesReportResponseDTO report = report();
+        assertThat(report.getTotalUnits()).isEqualTo(6);
+        assertThat(report.getTotalRevenue()).isEqualByComparingTo("60.00");
+        assertThat(report.getGenres()).hasSize(2);
+
+        // nothing new since the checkpoint
+        assertThat(salesRollupService.rollupCompletedOrders()).isZero();
+        assertThat(report().getTotalUnits()).isEqualTo(6);
+    }
+
+    @Test
+    void laterRunOnlyAddsOrdersCompletedSinceTheCheckpoint() {
+        order(OrderStatus.DELIVERED, DAY.atTime(10, 0), DAY.atTime(10, 0), fiction, 1);
+        salesRollupService.rollupCompletedOrders();
+
+        order(OrderStatus.DELIVERED, DAY.atTime(15, 0), DAY.atTime(15, 0), fiction, 4);
+        assertThat(salesRollupService.rollupCompletedOrders()).isEqualTo(1);
+
+        SalesReportResponseDTO report = report();
+        assertThat(report.getTotalUnits()).isEqualTo(5);
+        assertThat(report.getTopBooks()).singleElement().satisfies(book -> {
+            assertThat(book.getBookId()).isEqualTo(fiction.getId());
+            assertThat(book.getUnits()).isEqualTo(5);
+        });
+    }
+
+    @Test
+    void concurrentFirstRunsCountEveryOrderOnce() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            order(OrderStatus.DELIVERED, DAY.atTime(10, i), DAY.atTime(10, i), fiction, 1);
+        }
+
+        ExecutorService instances = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> runs = List.of(
+                    instances.submit(() -> { start.await(); return salesRollupService.rollupCompletedOrders(); }),
+                    instances.submit(() -> { start.await(); return salesRollupService.rollupCompletedOrders(); }));
+            start.countDown();
+            assertThat(runs.get(0).get() + runs.get(1).get()).isEqualTo(5);
+        } finally {
+            instances.shutdownNow();
+        }
+        assertThat(report().getTotalUnits()).isEqualTo(5);
+    }
+
+    @Test
+    void deliveredOrderCannotLeaveDelivered() {
+        long orderId = order(OrderStatus.DELIVERED, DAY.atTime(10, 0), DAY.atTime(10, 0), fiction, 1);
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(orderId, OrderStatus.CANCELLED))
+                .isInstanceOf(OrderStatusTransitionException.class);
+        assertThatThrownBy(() -> orderService.updateOrderStatus(orderId, OrderStatus.SHIPPED))
+                .isInstanceOf(OrderStatusTransitionException.class);
+    }
+
+    private SalesReportResponseDTO report() {
+        return salesRollupService.getSalesReport(DAY, DAY, 10);
+    }
+
+    private long order(OrderStatus status, LocalDateTime completedAt, LocalDateTime updatedAt, Book book, int quantity) {
+        long orderId = nextOrderId++;
+        BigDecimal subTotal = book.getPrice().multiply(BigDecimal.valueOf(quantity));
+        jdbcTemplate.update("INSERT INTO orders (id, user_id, order_status, payment_status, total_amount, created_at, updated_at, completed_at) "
+                        + "VALUES (?, ?, ?, 'PAID', ?, ?, ?, ?)",
+                orderId, customer.getId(), status.name(), subTotal, Timestamp.valueOf(updatedAt.minusHours(1)),
+                Timestamp.valueOf(updatedAt), completedAt != null ? Timestamp.valueOf(completedAt) : null);
+        jdbcTemplate.update("INSERT INTO order_items (book_id, order_id, quantity, sub_total) VALUES (?, ?, ?, ?)",
+                book.getId(), orderId, quantity, subTotal);
+        return orderId;
+    }
+
+    private static Book book(String title, String genre, String isbn) {
+        return Book.builder()
+                .title(title)
+                .genre(genre)
+                .isbn(isbn)
+                .price(new BigDecimal("10.00"))
+                .quantity(100)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.entity.User;
+import com.daniyal.bookstore.repository.UserRepository;
+import com.daniyal.bookstore.support.DatabaseCleaner;
+import com.daniyal.bookstore.support.QueryBudget;
+import com.daniyal.bookstore.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TokenRevocationServiceTest {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private DatabaseCleaner databaseCleaner;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        databaseCleaner.clean();
+        tokenRevocationService.refresh();
+        user = userRepository.save(User.builder()
+                .username("customer")
+                .email("customer@test.com")
+                .password("not-used")
+                .roles(Set.of("CUSTOMER"))
+                .build());
+    }
+
+    @Test
+    void loginRightAfterReEnableIsNotRevokedAndCostsNoQuery() throws Exception {
+        String before = token();
+        userService.disableUser(user.getId());
+        userService.enableUser(user.getId());
+        // same second as the disable, in all likelihood
+        String after = token();
+
+        assertThat(tokenRevocationService.isRevoked(jwtUtil.extractAllClaims(before))).isTrue();
+        assertThat(QueryBudget.atMost(0, () -> tokenRevocationService.isRevoked(jwtUtil.extractAllClaims(after)))).isFalse();
+    }
+
+    @Test
+    void accountRevocationSurvivesRefresh() {
+        String before = token();
+        userService.disableUser(user.getId());
+
+        tokenRevocationService.refresh();
+
+        assertThat(tokenRevocationService.isRevoked(jwtUtil.extractAllClaims(before))).isTrue();
+    }
+
+    @Test
+    void loggedOutTokenIsRevokedAndOthersAreNot() {
+        String loggedOut = token();
+        String other = token();
+
+        userService.logout(loggedOut);
+
+        assertThat(tokenRevocationService.isRevoked(jwtUtil.extractAllClaims(loggedOut))).isTrue();
+        assertThat(tokenRevocationService.isRevoked(jwtUtil.extractAllClaims(other))).isFalse();
+    }
+
+    private String token() {
+        return jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRoles());
+    }
+}
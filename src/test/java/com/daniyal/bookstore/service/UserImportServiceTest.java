@@ -0,0 +1,62 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.UserImportRequestDTO;
+import com.daniyal.bookstore.dto.UserImportResponseDTO;
+import com.daniyal.bookstore.dto.UserRequestDTO;
+import com.daniyal.bookstore.entity.User;
+import com.daniyal.bookstore.repository.UserRepository;
+import com.daniyal.bookstore.support.DatabaseCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest
+class UserImportServiceTest {
+
+    @Autowired
+    private UserImportService userImportService;
+    @MockitoSpyBean
+    private UserRepository userRepository;
+    @Autowired
+    private DatabaseCleaner databaseCleaner;
+
+    @BeforeEach
+    void setUp() {
+        databaseCleaner.clean();
+    }
+
+    @Test
+    void userRegisteredAfterTheCollisionCheckIsReportedNotFatal() {
+        userRepository.save(User.builder()
+                .username("taken")
+                .email("taken@test.com")
+                .password("not-used")
+                .roles(Set.of("CUSTOMER"))
+                .build());
+        // the collision check does not see "taken", as if it registered in between
+        doReturn(List.of()).when(userRepository).findExistingEmails(anyCollection());
+        doReturn(List.of()).when(userRepository).findExistingUsernames(anyCollection());
+
+        UserImportResponseDTO response = userImportService.importUsers(UserImportRequestDTO.builder()
+                .users(List.of(
+                        new UserRequestDTO("fresh", "fresh@test.com", "password"),
+                        new UserRequestDTO("other", "taken@test.com", "password")))
+                .build());
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(1);
+            assertThat(error.getErrors()).isNotEmpty();
+        });
+        assertThat(userRepository.findByEmail("fresh@test.com")).isPresent();
+    }
+}
@@ -0,0 +1,87 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.UserImportRequestDTO;
+import com.daniyal.bookstore.dto.UserRequestDTO;
+import com.daniyal.bookstore.exceptions.ImportThrottledException;
+import com.daniyal.bookstore.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class UserImportThrottlingTest {
+
+    private final CountDownLatch hashing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    // one hashing thread, room for one more import in the queue
+    private final UserImportServiceImpl userImportService = new UserImportServiceImpl(
+            mock(UserRepository.class),
+            blockingEncoder(),
+            mock(JdbcTemplate.class),
+            mock(TransactionTemplate.class),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            1, 1, 7, 500);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        userImportService.shutdown();
+    }
+
+    @Test
+    void importIsShedWhenTheHashingQueueIsFull() throws Exception {
+        callers.submit(() -> userImportService.importUsers(request("running")));
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread[] queuedCaller = new Thread[1];
+        callers.submit(() -> {
+            queuedCaller[0] = Thread.currentThread();
+            return userImportService.importUsers(request("queued"));
+        });
+        awaitParked(queuedCaller);
+
+        assertThatThrownBy(() -> userImportService.importUsers(request("shed")))
+                .isInstanceOfSatisfying(ImportThrottledException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(7));
+    }
+
+    // the queued import parks in Future.get once its task is in the queue
+    private static void awaitParked(Thread[] caller) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (caller[0] == null || caller[0].getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return mock(PasswordEncoder.class, invocation -> {
+            if (invocation.getMethod().getName().equals("encode")) {
+                hashing.countDown();
+                release.await();
+                return "hash";
+            }
+            return null;
+        });
+    }
+
+    private static UserImportRequestDTO request(String name) {
+        return UserImportRequestDTO.builder()
+                .users(List.of(new UserRequestDTO(name, name + "@test.com", "password")))
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.daniyal.bookstore.service;
+
+import com.daniyal.bookstore.dto.LoginRequestDTO;
+import com.daniyal.bookstore.entity.User;
+import com.daniyal.bookstore.exceptions.InvalidCredentialsException;
+import com.daniyal.bookstore.repository.UserRepository;
+import com.daniyal.bookstore.security.PasswordVerifier;
+import com.daniyal.bookstore.support.DatabaseCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest
+class UserServiceLoginTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @MockitoSpyBean
+    private PasswordVerifier passwordVerifier;
+    @Autowired
+    private DatabaseCleaner databaseCleaner;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        databaseCleaner.clean();
+        user = userRepository.save(User.builder()
+                .username("customer")
+                .email("customer@test.com")
+                .password("old-hash")
+                .roles(Set.of("CUSTOMER"))
+                .build());
+        // right password, stored with a weaker cost
+        doReturn(new PasswordVerifier.Result(true, "new-hash")).when(passwordVerifier).verify(anyString(), anyString());
+    }
+
+    @Test
+    void loginUpgradesTheStoredHash() {
+        assertThat(userService.login(new LoginRequestDTO("customer@test.com", "password"))).isNotBlank();
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo("new-hash");
+    }
+
+    @Test
+    void disabledAccountIsRejectedWithoutUpgradingTheHash() {
+        userService.disableUser(user.getId());
+
+        assertThatThrownBy(() -> userService.login(new LoginRequestDTO("customer@test.com", "password")))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo("old-hash");
+    }
+}
@@ -0,0 +1,42 @@
+package com.daniyal.bookstore.support;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ Query budgets for a unit of work, e.g.
+
+   QueryBudget.atMost(2, () -> mockMvc.perform(get("/api/books?size=50")));
+
+ On failure the message lists every statement that ran, which is usually enough to spot the N+1.
+*/
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T run() throws Exception;
+    }
+
+    public static <T> T atMost(int maxStatements, Work<T> work) throws Exception {
+        return check(null, maxStatements, work);
+    }
+
+    public static <T> T selectsAtMost(int maxSelects, Work<T> work) throws Exception {
+        return check("select", maxSelects, work);
+    }
+
+    private static <T> T check(String verb, int max, Work<T> work) throws Exception {
+        QueryCounter.reset();
+        T result = work.run();
+        List<String> statements = QueryCounter.statements();
+        long counted = verb == null ? statements.size() : QueryCounter.count(verb);
+        assertThat(counted)
+                .as("%s statements, budget %d:%n%s", verb == null ? "all" : verb, max, String.join("\n", statements))
+                .isLessThanOrEqualTo(max);
+        return result;
+    }
+}
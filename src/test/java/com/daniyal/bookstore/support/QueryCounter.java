@@ -0,0 +1,42 @@
+package com.daniyal.bookstore.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ Records every SQL statement Hibernate prepares on the current thread.
+ - Registered through hibernate.session_factory.statement_inspector (src/test/resources/config/application.yml),
+   Hibernate creates the instance itself, so the state is static.
+ - Per thread: MockMvc runs the request on the test thread, while the schedulers (stats reconcile,
+   revocation refresh, ...) run elsewhere and never end up in a count.
+ - Plain JdbcTemplate statements bypass Hibernate and are not seen.
+ Use QueryBudget for the assertions.
+*/
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    public static long count(String verb) {
+        String prefix = verb.toLowerCase(Locale.ROOT);
+        return STATEMENTS.get().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(prefix))
+                .count();
+    }
+}
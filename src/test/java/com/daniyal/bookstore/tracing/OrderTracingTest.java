@@ -0,0 +1,135 @@
+package com.daniyal.bookstore.tracing;
+
+import com.daniyal.bookstore.entity.Book;
+import com.daniyal.bookstore.entity.User;
+import com.daniyal.bookstore.repository.BookRepository;
+import com.daniyal.bookstore.repository.UserRepository;
+import com.daniyal.bookstore.support.DatabaseCleaner;
+import com.daniyal.bookstore.util.JwtUtil;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class OrderTracingTest {
+
+    // picked up next to the OTLP exporter, spans stay in memory for the assertions
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private DatabaseCleaner databaseCleaner;
+
+    private String customerToken;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        databaseCleaner.clean();
+        User customer = userRepository.save(User.builder()
+                .username("customer")
+                .email("customer@test.com")
+                .password("not-used")
+                .roles(Set.of("CUSTOMER"))
+                .build());
+        customerToken = "Bearer " + jwtUtil.generateToken(customer.getId(), customer.getEmail(), customer.getRoles());
+        book = bookRepository.save(Book.builder()
+                .title("Traced")
+                .genre("Fiction")
+                .isbn("trace-isbn")
+                .price(new BigDecimal("10.00"))
+                .quantity(10)
+                .build());
+        finishedSpans();
+        spanExporter.reset();
+    }
+
+    @Test
+    void placeOrderIsOneTraceFromTheRequestDownToTheRepositories() throws Exception {
+        placeOrder(null);
+
+        // span names are lower-hyphen versions of the contextual names
+        List<SpanData> spans = finishedSpans();
+        SpanData server = span(spans, "http post /api/orders");
+        SpanData securedRequest = span(spans, "secured request");
+        SpanData service = span(spans, "order-service-impl#place-order");
+        // HTTP server span -> Spring Security's span around the dispatch -> service
+        assertThat(securedRequest.getParentSpanId()).isEqualTo(server.getSpanId());
+        assertThat(service.getParentSpanId()).isEqualTo(securedRequest.getSpanId());
+        assertThat(service.getTraceId()).isEqualTo(server.getTraceId());
+        for (String step : List.of("book-repository.find-all-by-id", "order stock check", "order-repository.save", "order-repository.flush")) {
+            assertThat(span(spans, step).getParentSpanId()).as(step).isEqualTo(service.getSpanId());
+        }
+    }
+
+    @Test
+    void incomingTraceparentIsContinued() throws Exception {
+        String traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+        placeOrder("00-" + traceId + "-00f067aa0ba902b7-01");
+
+        assertThat(span(finishedSpans(), "http post /api/orders").getTraceId()).isEqualTo(traceId);
+    }
+
+    private void placeOrder(String traceparent) throws Exception {
+        var request = post("/api/orders")
+                .header("Authorization", customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"orderItems\":[{\"bookId\":" + book.getId() + ",\"quantity\":1}]}");
+        if (traceparent != null) {
+            request.header("traceparent", traceparent);
+        }
+        mockMvc.perform(request).andExpect(status().isCreated());
+    }
+
+    // spans go through a batch processor, flush before reading the exporter
+    private List<SpanData> finishedSpans() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        return spanExporter.getFinishedSpanItems();
+    }
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no span '" + name + "' in "
+                        + spans.stream().map(SpanData::getName).toList()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.daniyal.bookstore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void everyAddedValueIsFound() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        var values = IntStream.range(0, 1_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+        values.forEach(filter::put);
+
+        assertThat(values).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredOne() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("revoked-" + i));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("other-" + i))
+                .count();
+
+        // 1% expected, leave room for the hash spread
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void overfilledFilterDegradesInsteadOfFailing() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        IntStream.range(0, 1_000).forEach(i -> filter.put("revoked-" + i));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain("other-" + i))
+                .count();
+
+        assertThat(filter.mightContain("revoked-999")).isTrue();
+        assertThat(falsePositives).isGreaterThan(100).isLessThan(10_000);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1, 0.5);
+
+        assertThat(filter.mightContain("anything")).isFalse();
+    }
+
+    @Test
+    void rejectsImpossibleSizing() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(10, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(10, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
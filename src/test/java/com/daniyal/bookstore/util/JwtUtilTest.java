@@ -0,0 +1,55 @@
+package com.daniyal.bookstore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "dGVzdHNlY3JldHRlc3RzZWNyZXR0ZXN0c2VjcmV0dGVzdHNlY3JldHRlc3Q=";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 4);
+
+    @Test
+    void fullCacheEvictsOneShotTokensAndKeepsTheOneInUse() {
+        String hot = token(1L);
+        jwtUtil.extractAllClaims(hot);
+        List<String> oneShot = new ArrayList<>();
+        for (long userId = 2; userId < 40; userId++) {
+            String token = token(userId);
+            oneShot.add(token);
+            jwtUtil.extractAllClaims(token);
+            jwtUtil.extractAllClaims(hot);
+        }
+
+        assertThat(jwtUtil.isCached(hot)).isTrue();
+        assertThat(oneShot.stream().filter(jwtUtil::isCached).count()).isLessThanOrEqualTo(3);
+        // the most recent miss was cached too, the cache was not emptied
+        assertThat(jwtUtil.isCached(oneShot.get(oneShot.size() - 1))).isTrue();
+    }
+
+    @Test
+    void cacheFullOfTokensInUseStillTakesNewOnes() {
+        List<String> tokens = new ArrayList<>();
+        for (long userId = 1; userId <= 4; userId++) {
+            tokens.add(token(userId));
+        }
+        for (int round = 0; round < 2; round++) {
+            tokens.forEach(jwtUtil::extractAllClaims);
+        }
+
+        String newcomer = token(5L);
+        jwtUtil.extractAllClaims(newcomer);
+
+        assertThat(jwtUtil.isCached(newcomer)).isTrue();
+        assertThat(tokens.stream().filter(jwtUtil::isCached).count()).isEqualTo(3);
+    }
+
+    private String token(long userId) {
+        return jwtUtil.generateToken(userId, "user" + userId + "@test.com", Set.of("CUSTOMER"));
+    }
+}
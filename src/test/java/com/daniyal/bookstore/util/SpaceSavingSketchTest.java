@@ -0,0 +1,80 @@
+package com.daniyal.bookstore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void countsExactlyWhileUnderCapacity() {
+        SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(3);
+        sketch.add("a", 2);
+        sketch.add("b", 1);
+        sketch.add("a", 3);
+
+        assertThat(counts(sketch)).containsExactlyInAnyOrderEntriesOf(Map.of("a", 5L, "b", 1L));
+    }
+
+    @Test
+    void newKeyTakesOverTheSmallestCounterAndItsCount() {
+        SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(2);
+        sketch.add("a", 5);
+        sketch.add("b", 2);
+        sketch.add("c", 1);
+
+        // "c" is overestimated by the evicted minimum, never underestimated
+        assertThat(counts(sketch)).containsExactlyInAnyOrderEntriesOf(Map.of("a", 5L, "c", 3L));
+    }
+
+    @Test
+    void heavyHitterStaysTrackedAmongManyRareKeys() {
+        SpaceSavingSketch<Integer> sketch = new SpaceSavingSketch<>(10);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add(i, 1);
+            if (i % 5 == 0) {
+                sketch.add(-1, 1);
+            }
+        }
+
+        // 200 of 1200 units, above total / capacity
+        assertThat(counts(sketch)).hasSize(10).containsKey(-1);
+        assertThat(counts(sketch).get(-1)).isGreaterThanOrEqualTo(200L);
+    }
+
+    @Test
+    void subtractOnlyAffectsTrackedKeysAndStopsAtZero() {
+        SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(2);
+        sketch.add("a", 2);
+        sketch.subtract("a", 5);
+        sketch.subtract("untracked", 1);
+
+        assertThat(counts(sketch)).containsExactlyInAnyOrderEntriesOf(Map.of("a", 0L));
+    }
+
+    @Test
+    void mergeAddsToExistingTotals() {
+        SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(2);
+        sketch.add("a", 2);
+        Map<String, Long> totals = new HashMap<>(Map.of("a", 3L));
+
+        sketch.mergeCountsInto(totals);
+
+        assertThat(totals).containsEntry("a", 5L);
+    }
+
+    @Test
+    void rejectsEmptyCapacity() {
+        assertThatThrownBy(() -> new SpaceSavingSketch<>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static <K> Map<K, Long> counts(SpaceSavingSketch<K> sketch) {
+        Map<K, Long> counts = new HashMap<>();
+        sketch.mergeCountsInto(counts);
+        return counts;
+    }
+}